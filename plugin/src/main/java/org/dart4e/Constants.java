@@ -35,6 +35,8 @@ public interface Constants {
    String PROJECT_TEST_DIRNAME = "test";
    String PUBSPEC_LOCK_FILENAME = "pubspec.lock";
    String PUBSPEC_YAML_FILENAME = "pubspec.yaml";
+   String PUBSPEC_OVERRIDES_YAML_FILENAME = "pubspec_overrides.yaml";
+   String PACKAGE_CONFIG_FILEPATH = ".dart_tool/package_config.json";
 
    /*
     * Flutter Constants
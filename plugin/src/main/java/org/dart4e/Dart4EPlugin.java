@@ -6,10 +6,21 @@
  */
 package org.dart4e;
 
+import org.dart4e.flutter.launch.FlutterDebugTarget;
 import org.dart4e.flutter.launch.FlutterHotReloadListener;
+import org.dart4e.langserver.DartClientConfigurationCache;
+import org.dart4e.langserver.DartLangServerProcessPool;
+import org.dart4e.launch.DartDebugTarget;
 import org.dart4e.launch.DartHotReloadListener;
+import org.dart4e.model.DartSDKRegistry;
+import org.dart4e.model.SDKMetadataCache;
+import org.dart4e.model.buildsystem.BuildSystemCache;
+import org.dart4e.model.buildsystem.DartDependencyCache;
+import org.dart4e.model.buildsystem.DependencyLocationProber;
 import org.dart4e.navigation.DartDependenciesUpdater;
 import org.dart4e.navigation.WindowListener;
+import org.dart4e.project.DartResourceDeltaDispatcher;
+import org.dart4e.util.io.JsonRpcTracer;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.osgi.framework.BundleContext;
@@ -78,6 +89,9 @@ public void start(final BundleContext context) throws Exception {
       super.start(context);
       instance = this;
 
+      DartResourceDeltaDispatcher.INSTANCE.install();
+      BuildSystemCache.INSTANCE.install();
+      DartClientConfigurationCache.INSTANCE.install();
       DartDependenciesUpdater.INSTANCE.install();
       DartHotReloadListener.INSTANCE.install();
       FlutterHotReloadListener.INSTANCE.install();
@@ -86,11 +100,24 @@ public void start(final BundleContext context) throws Exception {
 
    @Override
    public void stop(final BundleContext context) throws Exception {
+      BuildSystemCache.INSTANCE.uninstall();
+      DartClientConfigurationCache.INSTANCE.uninstall();
       DartDependenciesUpdater.INSTANCE.uninstall();
       DartHotReloadListener.INSTANCE.uninstall();
       FlutterHotReloadListener.INSTANCE.uninstall();
+      DartResourceDeltaDispatcher.INSTANCE.uninstall();
+      DartDebugTarget.ACTIVE_TARGETS.dispose();
+      FlutterDebugTarget.ACTIVE_TARGETS.dispose();
       WindowListener.INSTANCE.detatch();
 
+      DartDependencyCache.INSTANCE.save();
+      SDKMetadataCache.INSTANCE.save();
+      DartLangServerProcessPool.INSTANCE.dispose();
+      DartSDKRegistry.INSTANCE.dispose();
+      DependencyLocationProber.INSTANCE.dispose();
+      JsonRpcTracer.LSP.dispose();
+      JsonRpcTracer.DAP.dispose();
+
       instance = null;
       super.stop(context);
    }
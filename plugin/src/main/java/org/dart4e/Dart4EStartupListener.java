@@ -7,12 +7,16 @@
 package org.dart4e;
 
 import org.dart4e.langserver.DartLSPClientPreferenceChangeListener;
+import org.dart4e.langserver.DartLangServerProcessPool;
+import org.dart4e.model.DartSDKRegistry;
 import org.dart4e.navigation.ActiveEditorChangeListener;
 import org.dart4e.navigation.DartDependenciesUpdater;
 import org.dart4e.prefs.DartWorkspacePreference;
 import org.dart4e.project.DartProjectNature;
-import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.IStartup;
 
 import de.sebthom.eclipse.commons.resources.Projects;
@@ -24,11 +28,27 @@ public class Dart4EStartupListener implements IStartup {
 
    @Override
    public void earlyStartup() {
-      // workaround for "IResourceChangeListener adding at IDE startup" https://www.eclipse.org/forums/index.php/t/87906/
-      ResourcesPlugin.getWorkspace().addResourceChangeListener(DartDependenciesUpdater.INSTANCE, IResourceChangeEvent.POST_CHANGE);
-
       // refresh dependencies when workbench first starts
-      DartDependenciesUpdater.INSTANCE.onProjectsConfigChanged(Projects.getOpenProjectsWithNature(DartProjectNature.NATURE_ID).toList());
+      final var dartProjects = Projects.getOpenProjectsWithNature(DartProjectNature.NATURE_ID).toList();
+      final long refreshStartedAt = System.currentTimeMillis();
+      DartDependenciesUpdater.INSTANCE.onProjectsConfigChanged(dartProjects) //
+         .whenComplete((result, ex) -> Dart4EPlugin.log().info("Refreshed 'Dart Dependencies' of {0} project(s) in {1} ms", dartProjects
+            .size(), System.currentTimeMillis() - refreshStartedAt));
+
+      // warm up SDK discovery so SDK selection widgets do not have to wait for it
+      DartSDKRegistry.INSTANCE.getDiscoveredSDKs();
+
+      if (DartWorkspacePreference.isLSPWarmStandbyEnabled()) {
+         final var prestartJob = new Job("Pre-starting Dart Language Server...") {
+            @Override
+            protected IStatus run(final IProgressMonitor monitor) {
+               DartLangServerProcessPool.INSTANCE.prestart(dartProjects);
+               return Status.OK_STATUS;
+            }
+         };
+         prestartJob.setSystem(true);
+         prestartJob.schedule();
+      }
 
       ActiveEditorChangeListener.INSTANCE.attach();
 
@@ -61,7 +61,7 @@ public void openConsole() {
     */
    public static final String CONSOLE_TYPE = DartConsole.class.getName();
 
-   private static void runWithConsole(final IProgressMonitor monitor, final String headLine, final DartSDK dartSDK,
+   private static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final DartSDK dartSDK,
          final @Nullable IProject project, final @Nullable Path workdir, String... dartArgs) throws CoreException {
 
       if (dartArgs.length > 0 && "pub".equals(dartArgs[0]) //
@@ -133,7 +133,7 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
          final var endAtStr = endAt.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_TIME);
          console.setTitle("<terminated> " + exe + " (" + startAtStr + " - " + endAtStr + ") [" + proc.getProcess().pid() + "]");
          if (monitor.isCanceled())
-            return;
+            return false;
 
          if (hasOutput.get()) {
             out.println();
@@ -156,6 +156,7 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
             out.write(" (exit code: " + proc.exitStatus() + ")");
          }
          out.println();
+         return proc.exitStatus() == 0;
 
       } catch (final IOException ex) {
          throw new CoreException(Dart4EPlugin.status().createError(ex, "Failed to run Dart."));
@@ -169,16 +170,20 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
 
    /**
     * Runs the Dart command in the {@link DartConsole}.
+    *
+    * @return true if the command exited with code 0, false if it failed or was aborted
     */
-   public static void runWithConsole(final IProgressMonitor monitor, final String headLine, final DartSDK dartSDK,
+   public static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final DartSDK dartSDK,
          final @Nullable Path workdir, final String... dartArgs) throws CoreException {
-      runWithConsole(monitor, headLine, dartSDK, null, workdir, dartArgs);
+      return runWithConsole(monitor, headLine, dartSDK, null, workdir, dartArgs);
    }
 
    /**
     * Runs the Dart command in the {@link DartConsole}.
+    *
+    * @return true if the command exited with code 0, false if it failed or was aborted
     */
-   public static void runWithConsole(final IProgressMonitor monitor, final String headLine, final IProject project,
+   public static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final IProject project,
          final String... dartArgs) throws CoreException {
       final var prefs = DartProjectPreference.get(project);
       final var dartSDK = prefs.getEffectiveDartSDK();
@@ -190,7 +195,7 @@ public static void runWithConsole(final IProgressMonitor monitor, final String h
          workdir = workdir.getParent();
       }
 
-      runWithConsole(monitor, headLine, dartSDK, project, workdir, dartArgs);
+      return runWithConsole(monitor, headLine, dartSDK, project, workdir, dartArgs);
    }
 
    public final @Nullable IProject project;
@@ -61,7 +61,7 @@ public void openConsole() {
     */
    public static final String CONSOLE_TYPE = FlutterConsole.class.getName();
 
-   private static void runWithConsole(final IProgressMonitor monitor, final String headLine, final FlutterSDK flutterSDK,
+   private static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final FlutterSDK flutterSDK,
          final @Nullable IProject project, final @Nullable Path workdir, String... flutterArgs) throws CoreException {
 
       if (flutterArgs.length > 0 && "pub".equals(flutterArgs[0]) //
@@ -129,7 +129,7 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
          final var endAtStr = endAt.truncatedTo(ChronoUnit.SECONDS).format(DateTimeFormatter.ISO_TIME);
          console.setTitle("<terminated> " + exe + " (" + startAtStr + " - " + endAtStr + ") [" + proc.getProcess().pid() + "]");
          if (monitor.isCanceled())
-            return;
+            return false;
 
          if (hasOutput.get()) {
             out.println();
@@ -152,6 +152,7 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
             out.write(" (exit code: " + proc.exitStatus() + ")");
          }
          out.println();
+         return proc.exitStatus() == 0;
 
       } catch (final IOException ex) {
          throw new CoreException(Dart4EPlugin.status().createError(ex, "Failed to run Flutter."));
@@ -165,16 +166,20 @@ private static void runWithConsole(final IProgressMonitor monitor, final String
 
    /**
     * Runs the Flutter command in the {@link FlutterConsole}.
+    *
+    * @return true if the command exited with code 0, false if it failed or was aborted
     */
-   public static void runWithConsole(final IProgressMonitor monitor, final String headLine, final FlutterSDK flutterSDK,
+   public static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final FlutterSDK flutterSDK,
          final @Nullable Path workdir, final String... flutterArgs) throws CoreException {
-      runWithConsole(monitor, headLine, flutterSDK, null, workdir, flutterArgs);
+      return runWithConsole(monitor, headLine, flutterSDK, null, workdir, flutterArgs);
    }
 
    /**
     * Runs the Flutter command in the {@link FlutterConsole}.
+    *
+    * @return true if the command exited with code 0, false if it failed or was aborted
     */
-   public static void runWithConsole(final IProgressMonitor monitor, final String headLine, final IProject project,
+   public static boolean runWithConsole(final IProgressMonitor monitor, final String headLine, final IProject project,
          final String... flutterArgs) throws CoreException {
       final var prefs = FlutterProjectPreference.get(project);
       final var flutterSDK = prefs.getEffectiveFlutterSDK();
@@ -186,7 +191,7 @@ public static void runWithConsole(final IProgressMonitor monitor, final String h
          workdir = workdir.getParent();
       }
 
-      runWithConsole(monitor, headLine, flutterSDK, project, workdir, flutterArgs);
+      return runWithConsole(monitor, headLine, flutterSDK, project, workdir, flutterArgs);
    }
 
    public final @Nullable IProject project;
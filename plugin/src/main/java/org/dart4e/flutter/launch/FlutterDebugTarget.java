@@ -6,28 +6,15 @@
  */
 package org.dart4e.flutter.launch;
 
-import java.util.Collections;
-import java.util.Set;
-
-import org.eclipse.core.resources.IProject;
-import org.eclipse.debug.core.model.IDebugTarget;
-import org.eclipse.jdt.annotation.Nullable;
-
-import net.sf.jstuff.core.collection.WeakHashSet;
+import org.dart4e.launch.DebugTargetRegistry;
+import org.dart4e.launch.HotReloadTarget;
 
 /**
  * @author Sebastian Thomschke
  */
-public interface FlutterDebugTarget extends IDebugTarget {
+public interface FlutterDebugTarget extends HotReloadTarget {
 
-   Set<FlutterDebugTarget> ACTIVE_TARGETS = Collections.synchronizedSet(new WeakHashSet<>());
+   DebugTargetRegistry<FlutterDebugTarget> ACTIVE_TARGETS = new DebugTargetRegistry<>();
 
    FlutterDebugAPI getDebugAPI();
-
-   @Nullable
-   String getDartDebuggerURI();
-
-   IProject getProject();
-
-   boolean isHotReloadOnSave();
 }
@@ -10,15 +10,22 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 
+import org.dart4e.flutter.launch.FlutterDebugAPI.HotReloadArgs;
 import org.dart4e.launch.LaunchConfigurations;
 import org.dart4e.prefs.DartWorkspacePreference;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing.Source;
+import org.dart4e.util.io.JsonRpcTracer;
+import org.dart4e.util.io.JsonRpcTracer.Source;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -29,14 +36,14 @@
 import org.eclipse.lsp4e.debug.debugmodel.TransportStreams;
 import org.eclipse.lsp4e.debug.debugmodel.TransportStreams.DefaultTransportStreams;
 import org.eclipse.lsp4e.debug.launcher.DSPLaunchDelegate;
+import org.eclipse.lsp4j.debug.OutputEventArguments;
+import org.eclipse.lsp4j.debug.OutputEventArgumentsCategory;
 import org.eclipse.lsp4j.debug.ProcessEventArguments;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.debug.DebugLauncher;
 
-import net.sf.jstuff.core.io.stream.LineCapturingInputStream;
-import net.sf.jstuff.core.io.stream.LineCapturingOutputStream;
-
 /**
  * @author Sebastian Thomschke
  */
@@ -46,10 +53,21 @@ public class FlutterLaunchDebugConfig extends DSPLaunchDelegate {
    private final class FlutterDebugTargetImpl extends DSPDebugTarget implements FlutterDebugTarget, FlutterDebugClient {
 
       private @Nullable DartDebuggerUriEvent debuggerInfo;
+      private final @Nullable Path entrypoint;
+
+      /**
+       * the hot reload request currently in flight, hot reload requests are serialized per debug target so console output received
+       * between sending a request and receiving its response can be attributed to that request
+       */
+      private volatile @Nullable PendingReload pendingReload;
+
+      /** completes once the last requested hot reload was answered, guarded by <code>this</code> */
+      private CompletableFuture<?> lastReload = CompletableFuture.completedFuture(null);
 
       protected FlutterDebugTargetImpl(final ILaunch launch, final Supplier<TransportStreams> streamsSupplier,
             final Map<String, Object> dspParameters) {
          super(launch, streamsSupplier, dspParameters);
+         entrypoint = getEntrypoint(dspParameters);
       }
 
       @Override
@@ -78,6 +96,62 @@ public void process(final @Nullable ProcessEventArguments args) {
          return debuggerInfo.vmServiceUri;
       }
 
+      @Override
+      public @Nullable Path getEntrypoint() {
+         return entrypoint;
+      }
+
+      /**
+       * The Flutter debug adapter reports failed or rejected reloads as console output while still answering the request
+       * successfully, so the adapter's console output received while the request is in flight is checked for rejection messages.
+       *
+       * @return a future that completes exceptionally with {@link HotReloadRejectedException} if the reload was rejected
+       */
+      @Override
+      public CompletableFuture<Void> hotReload(final List<IFile> changedFiles) {
+         final CompletableFuture<Void> reload;
+         synchronized (this) {
+            reload = lastReload.handle((result, ex) -> null).thenCompose(unused -> sendHotReload());
+            lastReload = reload;
+         }
+         return reload;
+      }
+
+      private CompletableFuture<Void> sendHotReload() {
+         final var reload = new PendingReload();
+         pendingReload = reload;
+         return getDebugAPI().hotReload(new HotReloadArgs("save")) //
+            .handle((result, ex) -> {
+               pendingReload = null;
+               if (ex != null) {
+                  final var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                  final var message = cause.getMessage();
+                  if (cause instanceof ResponseErrorException && message != null && RELOAD_REJECTED_PATTERN.matcher(message).find())
+                     throw new HotReloadRejectedException(message.strip());
+                  throw ex instanceof final CompletionException completionEx ? completionEx : new CompletionException(ex);
+               }
+               final var rejection = reload.rejection;
+               if (rejection != null)
+                  throw new HotReloadRejectedException(rejection);
+               return null;
+            });
+      }
+
+      @Override
+      public void output(final @Nullable OutputEventArguments args) {
+         final var reload = pendingReload;
+         if (reload != null && args != null) {
+            // only consider messages of the debug adapter itself, not the output of the Flutter app
+            final String category = args.getCategory();
+            final String output = args.getOutput();
+            if ((category == null || OutputEventArgumentsCategory.CONSOLE.equals(category)) && output != null
+                  && RELOAD_REJECTED_PATTERN.matcher(output).find()) {
+               reload.rejection = output.strip();
+            }
+         }
+         super.output(asNonNullUnsafe(args)); // workaround for nullable changes in LSP4E API between versions
+      }
+
       @Override
       public boolean isHotReloadOnSave() {
          return hotReloadOnSave;
@@ -95,6 +169,36 @@ public void onDartDebuggerUris(final Map<String, ?> args) {
       }
    }
 
+   /**
+    * Console output of the Flutter debug adapter that is received while a hot reload request is in flight.
+    */
+   private static final class PendingReload {
+      volatile @Nullable String rejection;
+   }
+
+   /**
+    * e.g. "Hot reload was rejected: Const class cannot become non-const" or "Failed to Hot Reload: ..." at the beginning of a line
+    */
+   private static final Pattern RELOAD_REJECTED_PATTERN = Pattern.compile("^\\s*(hot reload (was )?rejected|failed to hot reload)",
+      Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+   /**
+    * @return the file passed via <code>--target</code> to <code>flutter run</code>, null if no target was specified explicitly or for
+    *         <code>flutter test</code> launches, i.e. if any changed file may be reachable
+    */
+   private static @Nullable Path getEntrypoint(final Map<String, Object> dspParameters) {
+      if (!(dspParameters.get("cwd") instanceof final String cwd) //
+            || !(dspParameters.get("toolArgs") instanceof final List<?> toolArgs) //
+            || toolArgs.isEmpty() //
+            || "test".equals(toolArgs.get(0)))
+         return null;
+
+      final int targetArgIndex = toolArgs.indexOf("--target");
+      if (targetArgIndex < 0 || targetArgIndex + 1 >= toolArgs.size())
+         return null;
+      return Path.of(cwd).resolve(String.valueOf(toolArgs.get(targetArgIndex + 1))).normalize();
+   }
+
    private final IProject project;
    private boolean hotReloadOnSave;
 
@@ -108,23 +212,21 @@ public FlutterLaunchDebugConfig(final IProject project, final boolean hotReloadO
    @NonNullByDefault({})
    protected FlutterDebugTarget createDebugTarget(final SubMonitor mon, final Supplier<TransportStreams> streamsSupplier,
          final ILaunch launch, final Map<String, Object> dspParameters) throws CoreException {
-      final var isTraceIOVerbose = DartWorkspacePreference.isDAPTraceIOVerbose();
-      final var effectiveStreamsSupplier = isTraceIOVerbose || DartWorkspacePreference.isDAPTraceIO() //
+      final var traceSession = JsonRpcTracer.DAP.newSession(DartWorkspacePreference.isDAPTraceIO(), DartWorkspacePreference
+         .isDAPTraceIOVerbose(), DartWorkspacePreference.isDAPTraceStatistics());
+      final var effectiveStreamsSupplier = traceSession.isEnabled() //
             ? (Supplier<TransportStreams>) () -> {
                final var streams = streamsSupplier.get();
                return new DefaultTransportStreams( //
-                  new LineCapturingInputStream(asNonNullUnsafe(streams.in), line -> VSCodeJsonRpcLineTracing.traceLine(Source.SERVER_OUT,
-                     line, isTraceIOVerbose)), //
-                  new LineCapturingOutputStream(asNonNullUnsafe(streams.out), line -> VSCodeJsonRpcLineTracing.traceLine(Source.CLIENT_OUT,
-                     line, isTraceIOVerbose)));
+                  traceSession.tap(asNonNullUnsafe(streams.in), Source.SERVER_OUT), //
+                  traceSession.tap(asNonNullUnsafe(streams.out), Source.CLIENT_OUT));
             }
             : streamsSupplier;
 
       final var target = new FlutterDebugTargetImpl(launch, effectiveStreamsSupplier, dspParameters);
       target.initialize(mon.split(80));
 
-      FlutterDebugTarget.ACTIVE_TARGETS.removeIf(FlutterDebugTarget::isTerminated);
-      FlutterDebugTarget.ACTIVE_TARGETS.add(target);
+      FlutterDebugTarget.ACTIVE_TARGETS.register(target);
 
       return target;
    }
@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.flutter.launch;
+
+/**
+ * Signals that the Flutter tool rejected a hot reload, e.g. because <code>main()</code> or a const constructor changed, and a hot
+ * restart is required to apply the changes.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class HotReloadRejectedException extends RuntimeException {
+
+   private static final long serialVersionUID = 1L;
+
+   public HotReloadRejectedException(final String message) {
+      super(message);
+   }
+}
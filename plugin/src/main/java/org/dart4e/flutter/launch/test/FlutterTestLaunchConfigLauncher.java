@@ -17,6 +17,7 @@
 import org.dart4e.flutter.prefs.FlutterProjectPreference;
 import org.dart4e.launch.LaunchConfigurations;
 import org.dart4e.localization.Messages;
+import org.dart4e.prefs.DartWorkspacePreference;
 import org.dart4e.util.TreeBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -98,7 +99,8 @@ public void launch(final ILaunchConfiguration config, final String mode, final I
                // TODO appendEnvVars handling, i.e. running with a clean env is not supported (yet) by Dart Debug Adapter
                .put("evaluateGettersInDebugViews", true) //
                .put("env", envVars) //
-               // .put("sendLogsToClient", true) // has performance implications, intended for troubleshooting
+               // has performance implications, intended for troubleshooting
+               .put("sendLogsToClient", DartWorkspacePreference.isDAPTraceLogs()) //
                .put("toolArgs", flutterArgs) //
                .getMap();
 
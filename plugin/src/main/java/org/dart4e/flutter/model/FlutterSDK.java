@@ -25,6 +25,7 @@
 import org.apache.commons.io.input.CharSequenceInputStream;
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.model.DartSDK;
+import org.dart4e.model.SDKMetadataCache;
 import org.dart4e.util.io.JSON;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -35,6 +36,7 @@
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import net.sf.jstuff.core.Strings;
 import net.sf.jstuff.core.SystemUtils;
@@ -97,21 +99,11 @@ public final class FlutterSDK implements Comparable<FlutterSDK> {
       if (!Files.isExecutable(flutterExe))
          return null;
 
-      final var processBuilder = Processes.builder(getFlutterExecutable()).withArg("--version");
-      try (var reader = new BufferedReader(new InputStreamReader(processBuilder.start().getStdOut()))) {
-         String line;
-         while ((line = reader.readLine()) != null) {
-            // Example line: "Flutter 3.29.2 • channel stable • https://github.com/flutter/flutter.git"
-            if (line.startsWith("Flutter ")) {
-               final String[] parts = Strings.split(line, " ", 3);
-               if (parts.length >= 2)
-                  return parts[1]; // Extracts "3.29.2"
-            }
-         }
-      } catch (final IOException ex) {
-         Dart4EPlugin.log().error(ex);
-      }
-      return null;
+      final var versionJsonFile = installRoot.resolve("bin/cache/flutter.version.json");
+      final var versionFile = installRoot.resolve("version");
+      return SDKMetadataCache.INSTANCE.getVersion("flutter", installRoot, List.of(flutterExe, versionJsonFile, versionFile), //
+         () -> readVersionFromFiles(versionJsonFile, versionFile), //
+         this::getVersionFromProcess);
    }, (version, ageMS) -> ageMS > (version == null ? 10_000 : 60_000));
 
    @SuppressWarnings("unused")
@@ -250,6 +242,50 @@ public Path getStandardLibDir() {
       return getVersionCached.get();
    }
 
+   private @Nullable String getVersionFromProcess() {
+      final var processBuilder = Processes.builder(getFlutterExecutable()).withArg("--version");
+      try (var reader = new BufferedReader(new InputStreamReader(processBuilder.start().getStdOut()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            // Example line: "Flutter 3.29.2 • channel stable • https://github.com/flutter/flutter.git"
+            if (line.startsWith("Flutter ")) {
+               final String[] parts = Strings.split(line, " ", 3);
+               if (parts.length >= 2)
+                  return parts[1]; // Extracts "3.29.2"
+            }
+         }
+      } catch (final IOException ex) {
+         Dart4EPlugin.log().error(ex);
+      }
+      return null;
+   }
+
+   /**
+    * Reads the Flutter version from <code>bin/cache/flutter.version.json</code> (written by the flutter tool) or the legacy
+    * <code>version</code> file in the install root.
+    */
+   private static @Nullable String readVersionFromFiles(final Path versionJsonFile, final Path versionFile) {
+      if (Files.isRegularFile(versionJsonFile)) {
+         try (var in = Files.newInputStream(versionJsonFile)) {
+            final Map<String, Object> versionInfo = JSON.deserialize(in, new TypeReference<Map<String, Object>>() {});
+            if (versionInfo.get("frameworkVersion") instanceof final String version && !version.isBlank())
+               return version;
+         } catch (final Exception ex) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+
+      if (Files.isRegularFile(versionFile)) {
+         try (var reader = Files.newBufferedReader(versionFile)) {
+            final var line = reader.readLine();
+            return line == null || line.isBlank() ? null : line.trim();
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+      return null;
+   }
+
    @Override
    public int hashCode() {
       return Objects.hash(name, installRoot);
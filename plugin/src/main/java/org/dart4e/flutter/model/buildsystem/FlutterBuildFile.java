@@ -17,6 +17,7 @@
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * @author Sebastian Thomschke
@@ -55,12 +56,13 @@ protected Path getSDKDependencyLocation(final String sdkName, final String pkgNa
    }
 
    @Override
-   protected void resolveDependencies(final IProgressMonitor monitor) {
-      final var project = getProject();
-      try {
-         FlutterConsole.runWithConsole(monitor, "Resolving dependencies of [" + project.getName() + "]...", project, "pub", "get");
-      } catch (final CoreException ex) {
-         throw new RuntimeException(ex);
-      }
+   protected boolean runPubGet(final IProgressMonitor monitor, final String headLine, final @Nullable Path workdir) throws CoreException {
+      if (workdir == null)
+         return FlutterConsole.runWithConsole(monitor, headLine, getProject(), "pub", "get");
+
+      final var flutterSDK = FlutterProjectPreference.get(getProject()).getEffectiveFlutterSDK();
+      if (flutterSDK == null)
+         throw new IllegalStateException(location.getProject().getName() + ": No Flutter SDK found!");
+      return FlutterConsole.runWithConsole(monitor, headLine, flutterSDK, workdir, "pub", "get");
    }
 }
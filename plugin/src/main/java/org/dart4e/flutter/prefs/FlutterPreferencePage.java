@@ -6,12 +6,18 @@
  */
 package org.dart4e.flutter.prefs;
 
+import static net.sf.jstuff.core.validation.NullAnalysisHelper.lateNonNull;
+
 import org.dart4e.localization.Messages;
+import org.dart4e.util.ui.GridDatas;
+import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.preference.PreferencePage;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Group;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 
@@ -20,6 +26,8 @@
  */
 public class FlutterPreferencePage extends PreferencePage implements IWorkbenchPreferencePage {
 
+   private Button checkHotRestartOnRejectedReload = lateNonNull();
+
    public FlutterPreferencePage() {
       setDescription(Messages.Flutter_Prefs_GeneralDescription);
    }
@@ -28,6 +36,15 @@ public FlutterPreferencePage() {
    public Control createContents(final Composite parent) {
       final var container = new Composite(parent, SWT.NULL);
       container.setLayout(new GridLayout(1, true));
+
+      final var grpHotReload = new Group(container, SWT.NONE);
+      grpHotReload.setLayoutData(GridDatas.fillHorizontalExcessive());
+      grpHotReload.setLayout(GridLayoutFactory.swtDefaults().create());
+      grpHotReload.setText("Hot Reload");
+
+      checkHotRestartOnRejectedReload = new Button(grpHotReload, SWT.CHECK);
+      checkHotRestartOnRejectedReload.setText("Perform hot restart if hot reload on save is rejected");
+      checkHotRestartOnRejectedReload.setSelection(FlutterWorkspacePreference.isHotRestartOnRejectedReload());
       return container;
    }
 
@@ -39,10 +56,13 @@ public void init(final IWorkbench workbench) {
    @Override
    protected void performDefaults() {
       super.performDefaults();
+      checkHotRestartOnRejectedReload.setSelection(false);
    }
 
    @Override
    public boolean performOk() {
+      FlutterWorkspacePreference.PREFS.setValue(FlutterWorkspacePreference.PROPERTY_HOT_RESTART_ON_REJECTED_RELOAD,
+         checkHotRestartOnRejectedReload.getSelection());
       if (!FlutterWorkspacePreference.save()) {
          setValid(false);
          return false;
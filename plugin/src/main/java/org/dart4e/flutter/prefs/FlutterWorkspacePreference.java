@@ -34,6 +34,7 @@ public final class FlutterWorkspacePreference {
    private static final String PROPERTY_DEFAULT_FLUTTER_SDK = "flutter.default_sdk";
    private static final String PROPERTY_FLUTTER_SDKS = "flutter.sdks";
    private static final String PROPERTY_WARNED_NO_SDK_REGISTERED = "flutter.warned_no_sdk_registered";
+   static final String PROPERTY_HOT_RESTART_ON_REJECTED_RELOAD = "flutter.hot_restart_on_rejected_reload";
 
    static final IPersistentPreferenceStore PREFS = new ScopedPreferenceStore(InstanceScope.INSTANCE, Dart4EPlugin.PLUGIN_ID);
 
@@ -146,6 +147,14 @@ public static SortedSet<FlutterSDK> getFlutterSDKs() {
       return FlutterSDK.fromPath();
    }
 
+   /**
+    * @return true if a hot restart shall be performed automatically when a hot reload on save is rejected, e.g. because
+    *         <code>main()</code> or a const constructor changed
+    */
+   public static boolean isHotRestartOnRejectedReload() {
+      return PREFS.getBoolean(PROPERTY_HOT_RESTART_ON_REJECTED_RELOAD);
+   }
+
    public static boolean save() {
       try {
          PREFS.save();
@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.langserver;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.prefs.DartProjectPreference;
+import org.dart4e.prefs.DartWorkspacePreference;
+import org.dart4e.util.AbstractResourcesChangedListener;
+import org.dart4e.util.TreeBuilder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+
+/**
+ * Caches the client configuration returned to the Dart language server via <code>workspace/configuration</code> per scope, so the
+ * language server re-requesting the configuration for every workspace folder does not result in repeated <code>.editorconfig</code>
+ * lookups.
+ * <p>
+ * Entries are invalidated when the workspace preferences of the language client change (see
+ * {@link DartLSPClientPreferenceChangeListener}), when the project preferences are saved or when the project's
+ * <code>.editorconfig</code> or preference file is added, changed or removed.
+ *
+ * @author Sebastian Thomschke
+ */
+@SuppressWarnings("restriction")
+public final class DartClientConfigurationCache extends AbstractResourcesChangedListener {
+
+   public static final DartClientConfigurationCache INSTANCE = new DartClientConfigurationCache();
+
+   private static final Path EDITORCONFIG_PATH = new Path(".editorconfig");
+   private static final Path PROJECT_PREFS_PATH = new Path(".settings/" + Dart4EPlugin.PLUGIN_ID + ".prefs");
+
+   private static Map<String, Object> createConfiguration(final @Nullable IProject project) {
+      final int maxLineLength = project == null //
+            ? DartWorkspacePreference.getFormatterMaxLineLength()
+            : DartProjectPreference.get(project).getFormatterMaxLineLength();
+
+      // https://github.com/dart-lang/sdk/blob/main/pkg/analysis_server/tool/lsp_spec/README.md#client-workspace-configuration
+      final var configBuilder = new TreeBuilder<String>() //
+         .put("enableSdkFormatter", true) //
+         .put("lineLength", maxLineLength) //
+         .put("completeFunctionCalls", true) //
+         .put("showTodos", true) //
+         .put("renameFilesWithClasses", "prompt") //
+         .put("enableSnippets", true) //
+         .put("updateImportsOnRename", true) //
+         .put("documentation", "full") //
+         .put("includeDependenciesInWorkspaceSymbols", true);
+
+      if (DartWorkspacePreference.isInlayHintsEnabled()) {
+         configBuilder.put("inlayHints", new TreeBuilder<String>() //
+            .put("dotShorthandTypes", DartWorkspacePreference.isInlayHintsDotShorthandTypesEnabled()) //
+            .put("parameterNames", DartWorkspacePreference.getInlayHintsParameterNamesMode()) //
+            .put("parameterTypes", DartWorkspacePreference.isInlayHintsParameterTypesEnabled()) //
+            .put("returnTypes", DartWorkspacePreference.isInlayHintsReturnTypesEnabled()) //
+            .put("typeArguments", DartWorkspacePreference.isInlayHintsTypeArgumentsEnabled()) //
+            .put("variableTypes", DartWorkspacePreference.isInlayHintsVariableTypesEnabled()));
+      } else {
+         configBuilder.put("inlayHints", false);
+      }
+      return configBuilder.getMap();
+   }
+
+   private final Map<IProject, Map<String, Object>> projectConfigs = new ConcurrentHashMap<>();
+   private final Map<String, Optional<IProject>> projectsByScopeUri = new ConcurrentHashMap<>();
+   private volatile @Nullable Map<String, Object> workspaceConfig;
+
+   private DartClientConfigurationCache() {
+   }
+
+   /**
+    * @param scopeUri the scope URI of a <code>workspace/configuration</code> item, null for the workspace-wide configuration
+    */
+   public Map<String, Object> get(final @Nullable String scopeUri) {
+      final var project = scopeUri == null //
+            ? null
+            : projectsByScopeUri.computeIfAbsent(scopeUri, uri -> {
+               final var res = LSPEclipseUtils.findResourceFor(uri);
+               return Optional.ofNullable(res == null ? null : res.getProject());
+            }).orElse(null);
+
+      if (project != null)
+         return projectConfigs.computeIfAbsent(project, DartClientConfigurationCache::createConfiguration);
+
+      var workspaceConfig = this.workspaceConfig;
+      if (workspaceConfig == null) {
+         workspaceConfig = this.workspaceConfig = createConfiguration(null);
+      }
+      return workspaceConfig;
+   }
+
+   public void invalidate(final IProject project) {
+      projectConfigs.remove(project);
+   }
+
+   public void invalidateAll() {
+      workspaceConfig = null;
+      projectConfigs.clear();
+   }
+
+   @Override
+   public void resourceChanged(final IResourceChangeEvent event) {
+      if (event.getType() != IResourceChangeEvent.POST_CHANGE)
+         return;
+
+      final var rootDelta = event.getDelta();
+      if (rootDelta == null)
+         return;
+
+      for (final var projectDelta : rootDelta.getAffectedChildren()) {
+         if (!(projectDelta.getResource() instanceof final IProject project)) {
+            continue;
+         }
+
+         if (projectDelta.getKind() != IResourceDelta.CHANGED //
+               || (projectDelta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+            // project created, deleted, moved, opened or closed: scope URIs may resolve to different projects now
+            projectsByScopeUri.clear();
+            invalidate(project);
+         } else if (projectDelta.findMember(EDITORCONFIG_PATH) != null || projectDelta.findMember(PROJECT_PREFS_PATH) != null) {
+            invalidate(project);
+         }
+      }
+   }
+}
@@ -6,32 +6,20 @@
  */
 package org.dart4e.langserver;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.dart4e.prefs.DartWorkspacePreference;
-import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.ResourcesPlugin;
-import org.eclipse.jface.text.IDocument;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
-import org.eclipse.lsp4e.LSPEclipseUtils;
-import org.eclipse.lsp4e.LanguageServers;
-import org.eclipse.lsp4e.LanguageServersRegistry;
-import org.eclipse.lsp4e.LanguageServersRegistry.LanguageServerDefinition;
-import org.eclipse.lsp4j.DidChangeConfigurationParams;
-import org.eclipse.lsp4j.services.LanguageServer;
-import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.IWorkbenchPage;
-import org.eclipse.ui.IWorkbenchWindow;
-import org.eclipse.ui.PlatformUI;
 
 /**
  * Listens for workspace preference changes and notifies all running Dart
  * language servers via {@code workspace/didChangeConfiguration}.
+ * <p>
+ * Changes arriving within a short time window, e.g. the multiple keys written when applying a preference page, are coalesced into
+ * a single notification per language server.
  *
  * @author Sebastian Thomschke
  */
@@ -39,7 +27,20 @@ public final class DartLSPClientPreferenceChangeListener implements IPropertyCha
 
    public static final DartLSPClientPreferenceChangeListener INSTANCE = new DartLSPClientPreferenceChangeListener();
 
+   private static final int COALESCE_DELAY_MS = 200;
+
+   private final Job notifyJob = new Job("Notifying Dart Language Servers about configuration change...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         for (final var client : DartLangServerClients.INSTANCE.getClients()) {
+            client.notifyConfigurationChanged();
+         }
+         return Status.OK_STATUS;
+      }
+   };
+
    private DartLSPClientPreferenceChangeListener() {
+      notifyJob.setSystem(true);
    }
 
    @Override
@@ -48,70 +49,9 @@ public void propertyChange(final PropertyChangeEvent event) {
       if (!property.startsWith(DartWorkspacePreference.PREFKEY_LSP_CLIENT_PREFIX))
          return;
 
-      final var registry = LanguageServersRegistry.getInstance();
-      final LanguageServerDefinition definition = registry.getDefinition(DartLangServerLauncher.DART_LANGUAGE_SERVER_ID);
-      if (definition == null)
-         return;
-
-      /*
-       * Dart's WorkspaceDidChangeConfigurationMessageHandler ignores params.settings and always re-requests client
-       * configuration via workspace/configuration, so it is safe to send an empty map here.
-       */
-      final var params = new DidChangeConfigurationParams(Collections.emptyMap());
-      final Set<LanguageServer> notifiedServers = ConcurrentHashMap.newKeySet();
-
-      // 1) Workspace-wide servers (workspace-folder aware or singletons)
-      LanguageServers.forProject(null) //
-         .withPreferredServer(definition) //
-         .excludeInactive() //
-         .collectAll((wrapper, server) -> {
-            if (definition.equals(wrapper.serverDefinition) && notifiedServers.add(server)) {
-               server.getWorkspaceService().didChangeConfiguration(params);
-            }
-            return CompletableFuture.completedFuture(null);
-         });
+      // must happen before the language servers re-request the configuration
+      DartClientConfigurationCache.INSTANCE.invalidateAll();
 
-      // 2) Per-project servers
-      for (final IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
-         if (!project.isOpen()) {
-            continue;
-         }
-
-         LanguageServers.forProject(project) //
-            .withPreferredServer(definition) //
-            .excludeInactive() //
-            .collectAll((wrapper, server) -> {
-               if (definition.equals(wrapper.serverDefinition) && notifiedServers.add(server)) {
-                  server.getWorkspaceService().didChangeConfiguration(params);
-               }
-               return CompletableFuture.completedFuture(null);
-            });
-      }
-
-      // 3) Per-document servers (for external files or unsaved documents)
-      for (final IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
-         for (final IWorkbenchPage page : window.getPages()) {
-            for (final IEditorReference ref : page.getEditorReferences()) {
-               final IEditorPart editor = ref.getEditor(false);
-               if (editor == null) {
-                  continue;
-               }
-
-               final IDocument document = LSPEclipseUtils.getDocument(editor.getEditorInput());
-               if (document == null) {
-                  continue;
-               }
-
-               LanguageServers.forDocument(document) //
-                  .withPreferredServer(definition) //
-                  .collectAll((wrapper, server) -> {
-                     if (definition.equals(wrapper.serverDefinition) && notifiedServers.add(server)) {
-                        server.getWorkspaceService().didChangeConfiguration(params);
-                     }
-                     return CompletableFuture.completedFuture(null);
-                  });
-            }
-         }
-      }
+      notifyJob.schedule(COALESCE_DELAY_MS);
    }
 }
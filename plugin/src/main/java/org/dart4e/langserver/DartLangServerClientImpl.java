@@ -7,21 +7,25 @@
 package org.dart4e.langserver;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
-import org.dart4e.Constants;
-import org.dart4e.prefs.DartProjectPreference;
-import org.dart4e.prefs.DartWorkspacePreference;
-import org.dart4e.util.TreeBuilder;
+import org.dart4e.Dart4EPlugin;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageClientImpl;
 import org.eclipse.lsp4j.ConfigurationParams;
+import org.eclipse.lsp4j.DidChangeConfigurationParams;
+import org.eclipse.lsp4j.DidChangeWorkspaceFoldersParams;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.WorkspaceFolder;
-
-import de.sebthom.eclipse.commons.resources.Projects;
+import org.eclipse.lsp4j.WorkspaceFoldersChangeEvent;
+import org.eclipse.lsp4j.services.LanguageServer;
 
 /**
  * https://github.com/dart-lang/sdk/blob/main/pkg/analysis_server/tool/lsp_spec/README.md#custom-fields-methods-and-notifications
@@ -31,60 +35,78 @@
 @SuppressWarnings("restriction") // https://bugs.eclipse.org/bugs/show_bug.cgi?id=536215
 public final class DartLangServerClientImpl extends LanguageClientImpl implements DartLangServerClient {
 
+   /**
+    * workspace folders last reported to the connected language server by {@link DartWorkspaceFolders}, null if not reported yet,
+    * guarded by <code>this</code>
+    */
+   private @Nullable Set<IProject> reportedWorkspaceFolders;
+
    @Override
    @NonNullByDefault({})
    public CompletableFuture<List<Object>> configuration(final ConfigurationParams configurationParams) {
       final var configs = new ArrayList<>(configurationParams.getItems().size());
       for (final var item : configurationParams.getItems()) {
-         var maxLineLength = DartWorkspacePreference.getFormatterMaxLineLength();
-         final var res = LSPEclipseUtils.findResourceFor(item.getScopeUri());
-         if (res != null) {
-            final var project = res.getProject();
-            if (project != null) {
-               final var prefs = DartProjectPreference.get(project);
-               maxLineLength = prefs.getFormatterMaxLineLength();
-            }
-         }
+         configs.add(DartClientConfigurationCache.INSTANCE.get(item.getScopeUri()));
+      }
+      return CompletableFuture.completedFuture(configs);
+   }
+
+   synchronized @Nullable Set<IProject> getReportedWorkspaceFolders() {
+      return reportedWorkspaceFolders;
+   }
 
-         // https://github.com/dart-lang/sdk/blob/main/pkg/analysis_server/tool/lsp_spec/README.md#client-workspace-configuration
-         final var configBuilder = new TreeBuilder<String>() //
-            .put("enableSdkFormatter", true) //
-            .put("lineLength", maxLineLength) //
-            .put("completeFunctionCalls", true) //
-            .put("showTodos", true) //
-            .put("renameFilesWithClasses", "prompt") //
-            .put("enableSnippets", true) //
-            .put("updateImportsOnRename", true) //
-            .put("documentation", "full") //
-            .put("includeDependenciesInWorkspaceSymbols", true);
+   boolean isConnectedTo(final LanguageServer server) {
+      return getLanguageServer() == server;
+   }
 
-         if (DartWorkspacePreference.isInlayHintsEnabled()) {
-            configBuilder.put("inlayHints", new TreeBuilder<String>() //
-               .put("dotShorthandTypes", DartWorkspacePreference.isInlayHintsDotShorthandTypesEnabled()) //
-               .put("parameterNames", DartWorkspacePreference.getInlayHintsParameterNamesMode()) //
-               .put("parameterTypes", DartWorkspacePreference.isInlayHintsParameterTypesEnabled()) //
-               .put("returnTypes", DartWorkspacePreference.isInlayHintsReturnTypesEnabled()) //
-               .put("typeArguments", DartWorkspacePreference.isInlayHintsTypeArgumentsEnabled()) //
-               .put("variableTypes", DartWorkspacePreference.isInlayHintsVariableTypesEnabled()));
-         } else {
-            configBuilder.put("inlayHints", false);
-         }
+   /**
+    * Sends <code>workspace/didChangeConfiguration</code> to the connected language server.
+    */
+   void notifyConfigurationChanged() {
+      /*
+       * Dart's WorkspaceDidChangeConfigurationMessageHandler ignores params.settings and always re-requests client
+       * configuration via workspace/configuration, so it is safe to send an empty map here.
+       */
+      try {
+         getLanguageServer().getWorkspaceService().didChangeConfiguration(new DidChangeConfigurationParams(Collections.emptyMap()));
+      } catch (final Exception ex) {
+         // the language server may have been shut down in the meantime
+         Dart4EPlugin.log().debug("Failed to notify configuration change: {0}", ex.getMessage());
+      }
+   }
 
-         configs.add(configBuilder.getMap());
+   /**
+    * Sends <code>workspace/didChangeWorkspaceFolders</code> to the connected language server.
+    */
+   void notifyWorkspaceFoldersChanged(final Collection<IProject> added, final Collection<IProject> removed) {
+      final var event = new WorkspaceFoldersChangeEvent( //
+         added.stream().map(LSPEclipseUtils::toWorkspaceFolder).toList(), //
+         removed.stream().map(LSPEclipseUtils::toWorkspaceFolder).toList());
+      try {
+         getLanguageServer().getWorkspaceService().didChangeWorkspaceFolders(new DidChangeWorkspaceFoldersParams(event));
+      } catch (final Exception ex) {
+         // the language server may have been shut down in the meantime
+         Dart4EPlugin.log().debug("Failed to update workspace folders: {0}", ex.getMessage());
       }
-      return CompletableFuture.completedFuture(configs);
    }
 
    @Override
    public @NonNullByDefault({}) CompletableFuture<Void> registerCapability(final RegistrationParams params) {
+      // the Dart analysis server registers its capabilities dynamically once it received the 'initialized' notification
+      if (DartLangServerClients.INSTANCE.register(this)) {
+         DartWorkspaceFolders.INSTANCE.onClientInitialized(this);
+      }
       return super.registerCapability(params);
    }
 
+   synchronized void setReportedWorkspaceFolders(final Set<IProject> folders) {
+      reportedWorkspaceFolders = folders;
+   }
+
    @Override
    @NonNullByDefault({})
    public CompletableFuture<List<WorkspaceFolder>> workspaceFolders() {
-      return CompletableFuture.completedFuture(Projects //
-         .getOpenProjects(p -> p.getFile(Constants.PUBSPEC_YAML_FILENAME).exists()) //
+      return CompletableFuture.completedFuture(DartWorkspaceFolders.INSTANCE.getWorkspaceFolderProjects().stream() //
          .map(LSPEclipseUtils::toWorkspaceFolder) //
          .toList());
    }
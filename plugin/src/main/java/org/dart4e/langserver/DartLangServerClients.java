@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.langserver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.lsp4j.services.LanguageServer;
+
+/**
+ * Registry of the language clients connected to running Dart language servers.
+ * <p>
+ * Clients are registered once their language server finished its initialization and unregistered by the
+ * {@link DartLangServerLauncher} when the language server is stopped, since LSP4E does not notify language clients about server
+ * shutdown.
+ *
+ * @author Sebastian Thomschke
+ */
+final class DartLangServerClients {
+
+   static final DartLangServerClients INSTANCE = new DartLangServerClients();
+
+   private final List<DartLangServerClientImpl> clients = new CopyOnWriteArrayList<>();
+
+   private DartLangServerClients() {
+   }
+
+   /**
+    * @return a snapshot of the registered clients
+    */
+   List<DartLangServerClientImpl> getClients() {
+      return List.copyOf(clients);
+   }
+
+   /**
+    * @return true if the client was not registered yet
+    */
+   boolean register(final DartLangServerClientImpl client) {
+      return clients.addIfAbsent(client);
+   }
+
+   /**
+    * Unregisters the clients connected to the given language server.
+    */
+   void unregister(final LanguageServer server) {
+      clients.removeIf(client -> client.isConnectedTo(server));
+   }
+}
@@ -6,14 +6,19 @@
  */
 package org.dart4e.langserver;
 
-import static net.sf.jstuff.core.validation.NullAnalysisHelper.lateNonNull;
-
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.SystemUtils;
 import org.dart4e.Dart4EPlugin;
@@ -21,16 +26,19 @@
 import org.dart4e.model.buildsystem.BuildSystem;
 import org.dart4e.prefs.DartProjectPreference;
 import org.dart4e.prefs.DartWorkspacePreference;
+import org.dart4e.prefs.LangServerSettings;
 import org.dart4e.util.TreeBuilder;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing.Source;
+import org.dart4e.util.io.JsonRpcReplayProcess;
+import org.dart4e.util.io.JsonRpcTracer;
+import org.dart4e.util.io.JsonRpcTracer.Source;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.server.ProcessStreamConnectionProvider;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.services.LanguageServer;
 
 import de.sebthom.eclipse.commons.resources.Projects;
 import net.sf.jstuff.core.Strings;
-import net.sf.jstuff.core.io.stream.LineCapturingInputStream;
-import net.sf.jstuff.core.io.stream.LineCapturingOutputStream;
 import net.sf.jstuff.core.io.stream.LineTransformingOutputStream;
 
 /**
@@ -40,53 +48,137 @@
  */
 public final class DartLangServerLauncher extends ProcessStreamConnectionProvider {
 
+   private record PendingMeasurement(long startedAt, boolean isWarm) {
+   }
+
    public static final String DART_LANGUAGE_SERVER_ID = "org.dart4e.langserver";
 
+   /**
+    * System property pointing to a session recording (see {@link DartWorkspacePreference#isLSPTraceRecordSession()}) that shall be
+    * replayed instead of starting the Dart language server, e.g. <code>-Ddart4e.lsp.replay=/path/to/lsp-session.jsonl</code>
+    */
+   public static final String SYSPROP_REPLAY = "dart4e.lsp.replay";
+
+   private static final AtomicInteger RECORDING_COUNTER = new AtomicInteger();
+
+   /**
+    * @throws IllegalStateException if the SDK does not contain the analysis server snapshot
+    */
+   static List<String> getLangServerCommands(final DartSDK dartSDK, final LangServerSettings settings) {
+      final var dartInstallRoot = dartSDK.getInstallRoot();
+      var sdkBinDir = dartInstallRoot.resolve("bin");
+      var langServer = sdkBinDir.resolve("snapshots/analysis_server.dart.snapshot");
+      if (!Files.exists(langServer)) {
+         // in case installRoot points to flutter install dir
+         final var sdkBinDir2 = dartInstallRoot.resolve("bin/cache/dart-sdk/bin");
+         final var langServer2 = sdkBinDir2.resolve("snapshots/analysis_server.dart.snapshot");
+         if (!Files.exists(langServer2))
+            throw new IllegalStateException("Cannot initialize Dart Language Server: Required file " + langServer + " not found.");
+         sdkBinDir = sdkBinDir2;
+         langServer = langServer2;
+      }
+
+      final var commands = new ArrayList<String>();
+      final var aotRuntime = sdkBinDir.resolve(SystemUtils.IS_OS_WINDOWS ? "dartaotruntime.exe" : "dartaotruntime");
+      final var aotLangServer = sdkBinDir.resolve("snapshots/analysis_server_aot.dart.snapshot");
+      final boolean useAOT = settings.useAOTSnapshot() && Files.exists(aotRuntime) && Files.exists(aotLangServer);
+      commands.add(useAOT ? aotRuntime.toString() : dartSDK.getDartExecutable().toString());
+
+      // VM options
+      if (settings.oldGenHeapSizeMB() > 0) {
+         commands.add("--old_gen_heap_size=" + settings.oldGenHeapSizeMB());
+      }
+
+      commands.add(useAOT ? aotLangServer.toString() : langServer.toString());
+
+      // analysis server options
+      commands.add("--protocol=lsp");
+      if (!settings.cacheDir().isEmpty()) {
+         commands.add("--cache=" + settings.cacheDir());
+      }
+      if (settings.disableCompletion()) {
+         commands.add("--disable-server-feature-completion");
+      }
+      if (settings.disableSearch()) {
+         commands.add("--disable-server-feature-search");
+      }
+      return commands;
+   }
+
+   private static @Nullable Path getReplayFile() {
+      final var replayFile = System.getProperty(SYSPROP_REPLAY);
+      return replayFile == null || replayFile.isBlank() ? null : Path.of(replayFile);
+   }
+
+   private static JsonRpcTracer.Session newTraceSession() {
+      // the PID and the counter keep the names unique when several language servers are started within the same second
+      final var recordingFile = DartWorkspacePreference.isLSPTraceRecordSession() //
+            ? Dart4EPlugin.get().getStateLocation().append("lsp-sessions").append("lsp-session-" //
+                  + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) //
+                  + "-" + ProcessHandle.current().pid() //
+                  + "-" + RECORDING_COUNTER.incrementAndGet() + ".jsonl").toFile().toPath()
+            : null;
+      return JsonRpcTracer.LSP.newSession(DartWorkspacePreference.isLSPTraceIO(), DartWorkspacePreference.isLSPTraceIOVerbose(),
+         DartWorkspacePreference.isLSPTraceStatistics(), recordingFile);
+   }
+
+   /**
+    * process not started by LSP4E, i.e. a pre-started process handed over by {@link DartLangServerProcessPool} or a
+    * {@link JsonRpcReplayProcess}
+    */
+   private volatile @Nullable Process standbyProcess;
+   private volatile @Nullable InputStream standbyErrorStream;
+
+   /**
+    * start time of the connection (and whether it used a warm standby process) for the time-to-first-diagnostic metric, cleared
+    * once the first diagnostics were published
+    */
+   private final AtomicReference<@Nullable PendingMeasurement> pendingFirstDiagnostic = new AtomicReference<>();
+
+   private volatile JsonRpcTracer.Session traceSession = newTraceSession();
+
+   /** the language server proxy of the current connection, used to unregister its client on {@link #stop()} */
+   private volatile @Nullable LanguageServer languageServer;
+
    public DartLangServerLauncher() {
       setWorkingDirectory(SystemUtils.getUserDir().getAbsolutePath());
    }
 
    @Override
    public @Nullable InputStream getErrorStream() {
-      final var stream = super.getErrorStream();
+      final var stream = standbyProcess == null ? super.getErrorStream() : standbyErrorStream;
       if (stream == null)
          return null;
 
-      final var isTraceVerbose = DartWorkspacePreference.isLSPTraceIOVerbose();
-      return isTraceVerbose || DartWorkspacePreference.isLSPTraceIO() //
-            ? new LineCapturingInputStream(stream, line -> VSCodeJsonRpcLineTracing.traceLine(Source.SERVER_ERR, line, isTraceVerbose))
-            : stream;
+      return traceSession.tap(stream, Source.SERVER_ERR);
    }
 
-   private DartSDK dartSDK = lateNonNull();
+   private @Nullable DartSDK dartSDK;
 
    @Override
    public @Nullable Map<String, Object> getInitializationOptions(final @Nullable URI projectRootUri) {
       final var project = Projects.findProjectOfResource(projectRootUri);
       final @Nullable DartSDK dartSDK;
       final BuildSystem buildSystem;
+      final LangServerSettings settings;
       if (project == null) {
          dartSDK = DartWorkspacePreference.getDefaultDartSDK(true, true);
          buildSystem = BuildSystem.DART;
+         settings = DartWorkspacePreference.getLangServerSettings();
       } else {
          final var projectPrefs = DartProjectPreference.get(project);
          dartSDK = projectPrefs.getEffectiveDartSDK();
          buildSystem = BuildSystem.guessBuildSystemOfProject(project);
+         settings = projectPrefs.getLangServerSettings();
       }
 
-      if (dartSDK == null)
-         throw new IllegalStateException("Cannot initialize Dart Language Server: no Dart SDK found.");
+      if (getReplayFile() == null) {
+         if (dartSDK == null)
+            throw new IllegalStateException("Cannot initialize Dart Language Server: no Dart SDK found.");
 
-      this.dartSDK = dartSDK;
-      final var dartInstallRoot = dartSDK.getInstallRoot();
-      var langServer = dartInstallRoot.resolve("bin/snapshots/analysis_server.dart.snapshot");
-      if (!Files.exists(langServer)) {
-         final var langServer2 = dartInstallRoot.resolve("bin/cache/dart-sdk/bin/snapshots/analysis_server.dart.snapshot");
-         if (!Files.exists(langServer2))
-            throw new IllegalStateException("Cannot initialize Dart Language Server: Required file " + langServer + " not found.");
-         langServer = langServer2;
+         this.dartSDK = dartSDK;
+         setCommands(getLangServerCommands(dartSDK, settings));
       }
-      setCommands(List.of(dartSDK.getDartExecutable().toString(), langServer.toString(), "--protocol=lsp"));
 
       /*
        * https://github.com/dart-lang/sdk/blob/main/pkg/analysis_server/tool/lsp_spec/README.md#initialization-options
@@ -95,6 +187,8 @@ public DartLangServerLauncher() {
          .put("outline", true) //
          .put("flutterOutline", buildSystem == BuildSystem.FLUTTER) //
          .put("suggestFromUnimportedLibraries", true) //
+         .put("onlyAnalyzeProjectsWithOpenFiles", settings.onlyAnalyzeProjectsWithOpenFiles()) //
+         .put("closingLabels", settings.closingLabels()) //
          .getMap();
 
       if (DartWorkspacePreference.isLSPTraceInitOptions()) {
@@ -103,28 +197,44 @@ public DartLangServerLauncher() {
       return opts;
    }
 
+   @Override
+   public void handleMessage(final @Nullable Message message, final @Nullable LanguageServer languageServer,
+         final @Nullable URI rootURI) {
+      if (languageServer != null && this.languageServer != languageServer) {
+         this.languageServer = languageServer;
+      }
+      if (message instanceof final NotificationMessage notification && "textDocument/publishDiagnostics".equals(notification
+         .getMethod())) {
+         final var pending = pendingFirstDiagnostic.getAndSet(null);
+         if (pending != null) {
+            Dart4EPlugin.log().info("Dart Language Server published first diagnostics {0} ms after start ({1})", System
+               .currentTimeMillis() - pending.startedAt, pending.isWarm ? "warm standby" : "cold start");
+         }
+      }
+   }
+
    @Override
    public @Nullable InputStream getInputStream() {
-      final var stream = super.getInputStream();
+      final var standbyProcess = this.standbyProcess;
+      final var stream = standbyProcess == null ? super.getInputStream() : standbyProcess.getInputStream();
       if (stream == null)
          return null;
 
-      final var isTraceVerbose = DartWorkspacePreference.isLSPTraceIOVerbose();
-      return isTraceVerbose || DartWorkspacePreference.isLSPTraceIO() //
-            ? new LineCapturingInputStream(stream, line -> VSCodeJsonRpcLineTracing.traceLine(Source.SERVER_OUT, line, isTraceVerbose))
-            : stream;
+      return traceSession.tap(stream, Source.SERVER_OUT);
    }
 
    @Override
    public @Nullable OutputStream getOutputStream() {
-      var stream = super.getOutputStream();
+      final var standbyProcess = this.standbyProcess;
+      var stream = standbyProcess == null ? super.getOutputStream() : standbyProcess.getOutputStream();
       if (stream == null)
          return null;
 
       /*
        * workaround for https://github.com/dart-lang/sdk/issues/56311#issuecomment-2250089185
        */
-      final var dartVersion = dartSDK.getVersion();
+      final var dartSDK = this.dartSDK;
+      final var dartVersion = dartSDK == null ? null : dartSDK.getVersion();
       if (dartVersion != null && (dartVersion.startsWith("3.4.") || dartVersion.startsWith("3.5."))) {
          final boolean[] isFirstInlayHintRequest = {true};
          stream = new LineTransformingOutputStream(stream, line -> {
@@ -136,10 +246,7 @@ public DartLangServerLauncher() {
          });
       }
 
-      final var isTraceVerbose = DartWorkspacePreference.isLSPTraceIOVerbose();
-      return isTraceVerbose || DartWorkspacePreference.isLSPTraceIO() //
-            ? new LineCapturingOutputStream(stream, line -> VSCodeJsonRpcLineTracing.traceLine(Source.CLIENT_OUT, line, isTraceVerbose))
-            : stream;
+      return traceSession.tap(stream, Source.CLIENT_OUT);
    }
 
    @Override
@@ -147,4 +254,45 @@ public String getTrace(final @Nullable URI rootUri) {
       // return "verbose"; // has no effect, maybe not implemented in Dart language server
       return "off";
    }
+
+   @Override
+   public void start() throws IOException {
+      traceSession = newTraceSession();
+
+      final var replayFile = getReplayFile();
+      if (replayFile != null) {
+         Dart4EPlugin.log().info("Replaying Dart language server session {0}", replayFile);
+         final var replayProcess = new JsonRpcReplayProcess(replayFile);
+         standbyErrorStream = replayProcess.getErrorStream();
+         standbyProcess = replayProcess;
+         return;
+      }
+
+      final var standby = DartLangServerProcessPool.INSTANCE.take(getCommands());
+      pendingFirstDiagnostic.set(new PendingMeasurement(System.currentTimeMillis(), standby != null));
+      if (standby == null) {
+         super.start();
+      } else {
+         standbyErrorStream = standby.stderr();
+         standbyProcess = standby.process();
+      }
+   }
+
+   @Override
+   public void stop() {
+      final var languageServer = this.languageServer;
+      if (languageServer != null) {
+         this.languageServer = null;
+         DartLangServerClients.INSTANCE.unregister(languageServer);
+      }
+
+      final var standbyProcess = this.standbyProcess;
+      if (standbyProcess == null) {
+         super.stop();
+      } else {
+         this.standbyProcess = null;
+         standbyErrorStream = null;
+         standbyProcess.destroy();
+      }
+   }
 }
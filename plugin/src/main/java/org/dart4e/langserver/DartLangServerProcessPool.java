@@ -0,0 +1,169 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.langserver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.prefs.DartProjectPreference;
+import org.dart4e.util.io.InMemoryPipe;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Keeps pre-started Dart analysis server processes (one per distinct SDK) in warm standby so the first connection requested by LSP4E
+ * does not have to wait for the Dart VM to start and load the analysis server snapshot.
+ * <p>
+ * A standby process is handed over only once. Processes that are not claimed within {@link #STANDBY_TIMEOUT_MS} are terminated to not
+ * waste memory.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DartLangServerProcessPool {
+
+   /**
+    * A pre-started process. Its stderr is drained into an in-memory pipe from the start, so the process cannot block on a full
+    * stderr pipe while it is not claimed. Until it is claimed at most {@link #MAX_UNCLAIMED_STDERR_BYTES} are kept.
+    *
+    * @param stderr the drained stderr of the process, to be read instead of {@link Process#getErrorStream()}
+    */
+   record Standby(Process process, InputStream stderr, long startedAt, AtomicBoolean isClaimed) {
+
+      static Standby start(final List<String> commands) throws IOException {
+         final var process = new ProcessBuilder(commands) //
+            .directory(SystemUtils.getUserDir()) //
+            .start();
+         final var isClaimed = new AtomicBoolean();
+         final var stderr = new InMemoryPipe();
+         final var drainer = new Thread(() -> {
+            final var buffer = new byte[4_096];
+            long unclaimedBytes = 0;
+            try (var in = process.getErrorStream()) {
+               int count;
+               while ((count = in.read(buffer)) != -1) {
+                  if (!isClaimed.get()) {
+                     if (unclaimedBytes >= MAX_UNCLAIMED_STDERR_BYTES) {
+                        continue;
+                     }
+                     unclaimedBytes += count;
+                  }
+                  stderr.out.write(buffer, 0, count);
+               }
+            } catch (final IOException ex) {
+               // process terminated or pipe closed by the reader
+            } finally {
+               stderr.close();
+            }
+         }, "dart4e-langserver-standby-stderr");
+         drainer.setDaemon(true);
+         drainer.start();
+         return new Standby(process, stderr.in, System.currentTimeMillis(), isClaimed);
+      }
+   }
+
+   public static final DartLangServerProcessPool INSTANCE = new DartLangServerProcessPool();
+
+   private static final long STANDBY_TIMEOUT_MS = 10 * 60 * 1_000;
+   private static final int MAX_UNCLAIMED_STDERR_BYTES = 64 * 1_024;
+
+   private final Map<List<String>, Standby> standbys = new ConcurrentHashMap<>();
+
+   private final Job expireJob = new Job("Terminating unused Dart Language Server standby processes...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         final var now = System.currentTimeMillis();
+         standbys.entrySet().removeIf(entry -> {
+            final var standby = entry.getValue();
+            if (now - standby.startedAt < STANDBY_TIMEOUT_MS && standby.process.isAlive())
+               return false;
+            standby.process.destroy();
+            return true;
+         });
+         if (!standbys.isEmpty()) {
+            schedule(STANDBY_TIMEOUT_MS);
+         }
+         return Status.OK_STATUS;
+      }
+   };
+
+   private DartLangServerProcessPool() {
+      expireJob.setSystem(true);
+   }
+
+   /**
+    * Terminates all standby processes.
+    */
+   public void dispose() {
+      expireJob.cancel();
+      standbys.values().forEach(standby -> standby.process.destroy());
+      standbys.clear();
+   }
+
+   /**
+    * Starts one analysis server process per distinct SDK and settings used by the given projects unless a standby process for it
+    * already exists.
+    */
+   public void prestart(final Collection<IProject> projects) {
+      for (final var project : projects) {
+         final var prefs = DartProjectPreference.get(project);
+         final var sdk = prefs.getEffectiveDartSDK();
+         if (sdk == null) {
+            continue;
+         }
+         final List<String> commands;
+         try {
+            commands = DartLangServerLauncher.getLangServerCommands(sdk, prefs.getLangServerSettings());
+         } catch (final IllegalStateException ex) {
+            Dart4EPlugin.log().debug(ex.getMessage());
+            continue;
+         }
+
+         standbys.computeIfAbsent(commands, cmds -> {
+            try {
+               final var standby = Standby.start(cmds);
+               Dart4EPlugin.log().debug("Pre-started Dart Language Server of {0} in warm standby", sdk.toShortString());
+               return standby;
+            } catch (final Exception ex) {
+               Dart4EPlugin.log().error(ex, "Failed to pre-start Dart Language Server of " + sdk.toShortString());
+               return null;
+            }
+         });
+      }
+
+      if (!standbys.isEmpty()) {
+         expireJob.schedule(STANDBY_TIMEOUT_MS);
+      }
+   }
+
+   /**
+    * @return a running standby process started with the given commands or null if none is available
+    */
+   @Nullable Standby take(final List<String> commands) {
+      final var standby = standbys.remove(commands);
+      if (standby == null)
+         return null;
+
+      if (!standby.process.isAlive()) {
+         Dart4EPlugin.log().debug("Discarding terminated Dart Language Server standby process (exit code {0})", //
+            standby.process.exitValue());
+         return null;
+      }
+      standby.isClaimed.set(true);
+      return standby;
+   }
+}
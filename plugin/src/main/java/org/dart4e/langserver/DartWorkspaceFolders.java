@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.langserver;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.dart4e.Constants;
+import org.dart4e.navigation.ActiveEditorChangeListener;
+import org.dart4e.navigation.DartDependenciesUpdater;
+import org.dart4e.prefs.DartProjectPreference;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import de.sebthom.eclipse.commons.resources.Projects;
+
+/**
+ * Determines the projects reported as workspace folders to the Dart analysis server.
+ * <p>
+ * By default all open projects containing a <code>pubspec.yaml</code> are reported. Projects for which
+ * {@link org.dart4e.prefs.LangServerSettings#onlyAnalyzeProjectsWithOpenFiles()} is enabled, either in their project preferences or
+ * inherited from the workspace preferences, are only reported while they have open editors or are referenced via path dependencies by a
+ * reported project. The workspace folders of running language servers are then updated via
+ * <code>workspace/didChangeWorkspaceFolders</code> as editors are opened and closed.
+ *
+ * @author Sebastian Thomschke
+ */
+final class DartWorkspaceFolders {
+
+   static final DartWorkspaceFolders INSTANCE = new DartWorkspaceFolders();
+
+   private static Set<IProject> getDartProjects() {
+      final var projects = new LinkedHashSet<IProject>();
+      Projects.getOpenProjects(p -> p.getFile(Constants.PUBSPEC_YAML_FILENAME).exists()).forEach(projects::add);
+      return projects;
+   }
+
+   /**
+    * @return true if any of the given projects is only analyzed while it has open editors
+    */
+   private static boolean isAnyOpenEditorsOnlyMode(final Set<IProject> projects) {
+      for (final var project : projects) {
+         if (isOpenEditorsOnlyMode(project))
+            return true;
+      }
+      return false;
+   }
+
+   private static boolean isOpenEditorsOnlyMode(final IProject project) {
+      return DartProjectPreference.get(project).getLangServerSettings().onlyAnalyzeProjectsWithOpenFiles();
+   }
+
+   private final Job syncJob = new Job("Updating Dart Language Server workspace folders...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         sync();
+         return Status.OK_STATUS;
+      }
+   };
+
+   private DartWorkspaceFolders() {
+      syncJob.setSystem(true);
+      ActiveEditorChangeListener.INSTANCE.onEditorOpenedOrClosed(editorRef -> {
+         if (isAnyOpenEditorsOnlyMode(getDartProjects())) {
+            // coalesce bursts, e.g. when editors are restored on startup
+            syncJob.schedule(500);
+         }
+      });
+   }
+
+   /**
+    * @return the projects to be reported as workspace folders
+    */
+   Set<IProject> getWorkspaceFolderProjects() {
+      final var dartProjects = getDartProjects();
+      if (!isAnyOpenEditorsOnlyMode(dartProjects))
+         return dartProjects;
+
+      final var projectsByLocation = new HashMap<Path, IProject>();
+      for (final var project : dartProjects) {
+         final var location = project.getLocation();
+         if (location != null) {
+            projectsByLocation.put(location.toPath().normalize(), project);
+         }
+      }
+
+      // projects that are always analyzed and projects with open editors plus transitive path dependencies
+      final var result = new LinkedHashSet<IProject>();
+      final var queue = new ArrayDeque<IProject>();
+      for (final var project : dartProjects) {
+         if (!isOpenEditorsOnlyMode(project)) {
+            queue.add(project);
+         }
+      }
+      for (final var project : ActiveEditorChangeListener.INSTANCE.getProjectsWithOpenEditors()) {
+         if (dartProjects.contains(project)) {
+            queue.add(project);
+         }
+      }
+      while (!queue.isEmpty()) {
+         final var project = queue.poll();
+         if (!result.add(project)) {
+            continue;
+         }
+         for (final var dep : DartDependenciesUpdater.INSTANCE.getLinkedDependencies(project)) {
+            final var depProject = projectsByLocation.get(dep.location.normalize());
+            if (depProject != null) {
+               queue.add(depProject);
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Invoked once the language server of the given client finished its initialization.
+    */
+   void onClientInitialized(final DartLangServerClientImpl client) {
+      final var dartProjects = getDartProjects();
+      if (!isAnyOpenEditorsOnlyMode(dartProjects))
+         return;
+
+      // LSP4E announces all open projects during initialization
+      client.setReportedWorkspaceFolders(dartProjects);
+      syncJob.schedule();
+   }
+
+   private void sync() {
+      final var clients = DartLangServerClients.INSTANCE.getClients();
+      if (clients.isEmpty())
+         return;
+
+      final var desired = getWorkspaceFolderProjects();
+      for (final var client : clients) {
+         final var reported = client.getReportedWorkspaceFolders();
+         if (reported == null) {
+            continue;
+         }
+         final var added = new HashSet<>(desired);
+         added.removeAll(reported);
+         final var removed = new HashSet<>(reported);
+         removed.removeAll(desired);
+         if (!added.isEmpty() || !removed.isEmpty()) {
+            client.notifyWorkspaceFoldersChanged(added, removed);
+         }
+         client.setReportedWorkspaceFolders(desired);
+      }
+   }
+}
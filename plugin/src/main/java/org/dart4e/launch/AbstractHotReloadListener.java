@@ -0,0 +1,264 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.launch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.project.AbstractDartProjectsChangedListener;
+import org.dart4e.project.DartProjectDelta;
+import org.dart4e.util.LatencyHistogram;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.ui.IEditorSite;
+import org.eclipse.ui.IViewSite;
+
+import de.sebthom.eclipse.commons.ui.UI;
+
+/**
+ * Hot reloads the {@link HotReloadTarget}s of projects containing saved Dart files.
+ * <p>
+ * Saves are debounced adaptively: the reload is triggered once no further change arrived for a quiet period derived from the gaps
+ * observed between the resource change events of previous save bursts (e.g. "Save All" or formatter/organize imports on save), but
+ * at the latest {@link #MAX_DELAY_MILLIS} after the first change. Only changes to files in <code>lib/</code> or below the
+ * directory of the launched entrypoint trigger a reload. If the entrypoint of a target is unknown, i.e.
+ * {@link HotReloadTarget#getEntrypoint()} returns null, every changed file of the project is considered reachable. The
+ * save-to-reload-complete latency is reported per debug session.
+ *
+ * @author Sebastian Thomschke
+ */
+public abstract class AbstractHotReloadListener<T extends HotReloadTarget> extends AbstractDartProjectsChangedListener {
+
+   private static final long MIN_QUIET_MILLIS = 50;
+   private static final long MAX_QUIET_MILLIS = 500;
+   private static final long MAX_DELAY_MILLIS = 1_000;
+
+   private static String getName(final HotReloadTarget target) {
+      try {
+         return target.getName();
+      } catch (final Exception ex) {
+         return target.getProject().getName();
+      }
+   }
+
+   /**
+    * @return true if the given file is located in the project's <code>lib/</code> folder or below the directory of the target's
+    *         entrypoint, i.e. may be part of the running program
+    */
+   static boolean isReachable(final HotReloadTarget target, final IFile file) {
+      final var fileLocation = file.getLocation();
+      final var projectLocation = target.getProject().getLocation();
+      if (fileLocation == null || projectLocation == null)
+         return false;
+
+      final var filePath = fileLocation.toFile().toPath();
+      if (filePath.startsWith(projectLocation.toFile().toPath().resolve("lib")))
+         return true;
+
+      final var entrypoint = target.getEntrypoint();
+      if (entrypoint == null)
+         return true;
+
+      final @Nullable Path entrypointDir = Files.isDirectory(entrypoint) ? entrypoint : entrypoint.getParent();
+      return entrypointDir != null && filePath.startsWith(entrypointDir);
+   }
+
+   private static void showInStatusLine(final String message) {
+      UI.runAsync(() -> {
+         final var part = UI.getActiveWorkbenchPage().getActivePart();
+         if (part == null)
+            return;
+         final var site = part.getSite();
+         if (site instanceof final IViewSite viewSite) {
+            viewSite.getActionBars().getStatusLineManager().setMessage(message);
+         } else if (site instanceof final IEditorSite editorSite) {
+            editorSite.getActionBars().getStatusLineManager().setMessage(message);
+         }
+      });
+   }
+
+   /** changed Dart files by project, guarded by <code>this</code> */
+   private final Map<IProject, Set<IFile>> pendingChanges = new HashMap<>();
+   private long burstStartNanos;
+   private long lastChangeNanos = System.nanoTime();
+
+   /** moving average of the gaps between resource change events belonging to the same save burst */
+   private double avgBurstGapMillis = MIN_QUIET_MILLIS / 2.0;
+
+   /** save-to-reload-complete latencies by debug session */
+   private final Map<HotReloadTarget, LatencyHistogram> latencies = Collections.synchronizedMap(new WeakHashMap<>());
+
+   private final Job hotReloadJob = new Job("Hot reloading Dart programs...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         final Map<IProject, Set<IFile>> changes;
+         final long burstStartNanos;
+         synchronized (AbstractHotReloadListener.this) {
+            changes = new HashMap<>(pendingChanges);
+            pendingChanges.clear();
+            burstStartNanos = AbstractHotReloadListener.this.burstStartNanos;
+         }
+
+         // the targets are reloaded in parallel
+         final long startNanos = System.nanoTime();
+         final var reloads = new ArrayList<CompletableFuture<?>>();
+         changes.forEach((project, changedFiles) -> {
+            for (final var target : targets.getTargets(project)) {
+               final var reload = hotReload(target, changedFiles, burstStartNanos);
+               if (reload != null) {
+                  reloads.add(reload);
+               }
+            }
+         });
+         if (reloads.size() > 1) {
+            CompletableFuture.allOf(reloads.toArray(CompletableFuture[]::new)).whenComplete((result, ex) -> Dart4EPlugin.log().debug(
+               "Hot reloaded {0} debug targets in {1} ms", reloads.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+         }
+         return Status.OK_STATUS;
+      }
+   };
+
+   private final DebugTargetRegistry<T> targets;
+
+   protected AbstractHotReloadListener(final DebugTargetRegistry<T> targets) {
+      this.targets = targets;
+      hotReloadJob.setSystem(true);
+   }
+
+   /**
+    * @return null if the target was not reloaded
+    */
+   private @Nullable CompletableFuture<?> hotReload(final T target, final Set<IFile> changedFiles, final long burstStartNanos) {
+      if (!target.isHotReloadOnSave() //
+            || target.isDisconnected() //
+
+            // only attempt hot reload once dart debugger is fully setup to avoid race-conditions such as
+            // https://github.com/flutter/flutter/issues/152819
+            || target.getDartDebuggerURI() == null)
+         return null;
+
+      final var reachableFiles = new ArrayList<IFile>();
+      for (final var file : changedFiles) {
+         if (isReachable(target, file)) {
+            reachableFiles.add(file);
+         }
+      }
+
+      final var name = getName(target);
+      if (reachableFiles.isEmpty()) {
+         Dart4EPlugin.log().debug("Skipping hot reload of [{0}]. Changed files are not reachable from the entrypoint: {1}", name,
+            changedFiles);
+         return null;
+      }
+
+      Dart4EPlugin.log().debug("Hot reloading [{0}] after changes to {1}...", name, reachableFiles);
+      final long startNanos = System.nanoTime();
+      final var isRestarted = new MutableBoolean();
+      return target.hotReload(reachableFiles) //
+         .exceptionallyCompose(ex -> {
+            final var fallback = onHotReloadFailed(target, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            if (fallback == null)
+               return CompletableFuture.failedFuture(ex);
+            isRestarted.setTrue();
+            return fallback;
+         }) //
+         .whenComplete((result, ex) -> {
+            final long now = System.nanoTime();
+            final var operation = isRestarted.isTrue() ? "Hot restart" : "Hot reload";
+            if (ex == null) {
+               reportLatency(target, name, operation, reachableFiles, now - startNanos, now - burstStartNanos);
+            } else {
+               final var message = operation + " of [" + name + "] failed after " + TimeUnit.NANOSECONDS.toMillis(now - startNanos)
+                     + " ms: " + ex.getMessage();
+               Dart4EPlugin.log().error(ex, message);
+               showInStatusLine(message);
+            }
+         });
+   }
+
+   /**
+    * Invoked when the hot reload of the given target failed.
+    *
+    * @return a future performing a fallback operation, e.g. a hot restart, or null to report the failure
+    */
+   protected @Nullable CompletableFuture<Void> onHotReloadFailed(final T target, final Throwable ex) {
+      return null;
+   }
+
+   private void reportLatency(final HotReloadTarget target, final String name, final String operation, final List<IFile> changedFiles,
+         final long operationNanos, final long saveToCompleteNanos) {
+      final double medianMillis;
+      final long reloads;
+      synchronized (latencies) {
+         final var histogram = latencies.computeIfAbsent(target, t -> new LatencyHistogram());
+         histogram.record(saveToCompleteNanos);
+         medianMillis = histogram.getPercentileMillis(0.5);
+         reloads = histogram.getCount();
+      }
+
+      final var message = String.format("%s of [%s] took %d ms, completed %d ms after save (%d file(s), median: %.0f ms, reloads: %d)", //
+         operation, name, TimeUnit.NANOSECONDS.toMillis(operationNanos), TimeUnit.NANOSECONDS.toMillis(saveToCompleteNanos), //
+         changedFiles.size(), medianMillis, reloads);
+      Dart4EPlugin.log().info(message);
+      showInStatusLine(message);
+   }
+
+   @Override
+   public void onDartProjectsChanged(final List<DartProjectDelta> deltas) {
+      final var changes = new HashMap<IProject, Set<IFile>>();
+      for (final var delta : deltas) {
+         if (!delta.changedDartFiles().isEmpty()) {
+            changes.put(delta.project(), delta.changedDartFiles());
+         }
+      }
+      if (!changes.isEmpty()) {
+         onChanges(changes);
+      }
+   }
+
+   private synchronized void onChanges(final Map<IProject, Set<IFile>> changes) {
+      final long now = System.nanoTime();
+      final long gapMillis = TimeUnit.NANOSECONDS.toMillis(now - lastChangeNanos);
+      lastChangeNanos = now;
+
+      // gaps up to MAX_QUIET_MILLIS are considered part of the same save burst, including gaps of bursts that were
+      // split by a too short quiet period, thus the quiet period adapts upwards as well
+      if (gapMillis <= MAX_QUIET_MILLIS) {
+         avgBurstGapMillis = 0.8 * avgBurstGapMillis + 0.2 * gapMillis;
+      }
+
+      if (pendingChanges.isEmpty()) {
+         burstStartNanos = now;
+      }
+      changes.forEach((project, files) -> pendingChanges.computeIfAbsent(project, p -> new LinkedHashSet<>()).addAll(files));
+
+      final long quietMillis = Math.clamp(Math.round(2 * avgBurstGapMillis), MIN_QUIET_MILLIS, MAX_QUIET_MILLIS);
+      final long remainingMillis = MAX_DELAY_MILLIS - TimeUnit.NANOSECONDS.toMillis(now - burstStartNanos);
+
+      // re-arm the timer, a running reload job picks up the new changes in a subsequent run
+      hotReloadJob.cancel();
+      hotReloadJob.schedule(Math.max(0, Math.min(quietMillis, remainingMillis)));
+   }
+}
@@ -10,6 +10,7 @@
 
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.langserver.LSPEventArgs;
+import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.lsp4j.debug.services.IDebugProtocolClient;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 
@@ -43,10 +44,14 @@ public DartDebuggerUriEvent(final Map<String, ?> args) {
     * dart.log
     * ************************************************************************/
 
+   /**
+    * Only sent if the debug adapter was launched with <code>sendLogsToClient</code>, see {@link DebugAdapterLog}.
+    */
    @JsonNotification("dart.log")
    default void onDartLog(final Map<String, ?> args) {
       final var event = new DartLogEvent(args);
-      Dart4EPlugin.log().debug("onDartLog: {0}", event.args);
+      final var launchConfig = this instanceof final IDebugTarget target ? target.getLaunch().getLaunchConfiguration() : null;
+      DebugAdapterLog.INSTANCE.add(launchConfig == null ? "" : launchConfig.getName(), event.message);
    }
 
    final class DartLogEvent extends LSPEventArgs {
@@ -6,28 +6,12 @@
  */
 package org.dart4e.launch;
 
-import java.util.Collections;
-import java.util.Set;
-
-import org.eclipse.core.resources.IProject;
-import org.eclipse.debug.core.model.IDebugTarget;
-import org.eclipse.jdt.annotation.Nullable;
-
-import net.sf.jstuff.core.collection.WeakHashSet;
-
 /**
  * @author Sebastian Thomschke
  */
-public interface DartDebugTarget extends IDebugTarget {
+public interface DartDebugTarget extends HotReloadTarget {
 
-   Set<DartDebugTarget> ACTIVE_TARGETS = Collections.synchronizedSet(new WeakHashSet<>());
+   DebugTargetRegistry<DartDebugTarget> ACTIVE_TARGETS = new DebugTargetRegistry<>();
 
    DartDebugAPI getDebugAPI();
-
-   @Nullable
-   String getDartDebuggerURI();
-
-   IProject getProject();
-
-   boolean isHotReloadOnSave();
 }
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.launch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dart4e.util.RingBuffer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Collects the <code>dart.log</code> events sent by debug adapters launched with <code>sendLogsToClient</code>.
+ * <p>
+ * The events are handed over from the DAP reader threads via a lock-free {@link RingBuffer} and moved into a bounded history by a
+ * background job. Above {@link #MAX_EVENTS_PER_SECOND} only every {@link #SAMPLING_INTERVAL}th event is kept, so a chatty debug
+ * adapter neither floods the history nor stalls the reader threads.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DebugAdapterLog {
+
+   /**
+    * @param session name of the debug session that sent the event
+    */
+   public record Entry(long timeMillis, String session, String message) {
+   }
+
+   /**
+    * @param received events received from the debug adapters
+    * @param sampledOut events skipped because the rate limit was exceeded
+    * @param dropped events dropped because the hand-over buffer was full
+    */
+   public record Counters(long received, long sampledOut, long dropped) {
+   }
+
+   public static final DebugAdapterLog INSTANCE = new DebugAdapterLog();
+
+   private static final int BUFFER_CAPACITY = 4_096;
+   private static final int DRAIN_DELAY_MS = 250;
+   private static final int MAX_HISTORY = 10_000;
+   private static final int MAX_MESSAGE_LENGTH = 2_000;
+   private static final int MAX_EVENTS_PER_SECOND = 200;
+   private static final int SAMPLING_INTERVAL = 50;
+
+   private final RingBuffer<Entry> buffer = new RingBuffer<>(BUFFER_CAPACITY);
+
+   private final AtomicLong received = new AtomicLong();
+   private final AtomicLong sampledOut = new AtomicLong();
+   private final AtomicLong rateWindow = new AtomicLong();
+   private final AtomicInteger eventsInRateWindow = new AtomicInteger();
+
+   /** guarded by itself */
+   private final ArrayDeque<Entry> history = new ArrayDeque<>();
+   private final AtomicLong historyVersion = new AtomicLong();
+
+   private final Job drainJob = new Job("Collecting Debug Adapter logs...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         drain();
+         return Status.OK_STATUS;
+      }
+   };
+
+   private DebugAdapterLog() {
+      drainJob.setSystem(true);
+   }
+
+   /**
+    * Invoked by the DAP reader threads, does not block.
+    */
+   public void add(final String session, final String message) {
+      received.incrementAndGet();
+
+      // approximate per-second rate limiting, races on window change only affect a few events
+      final long window = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+      if (rateWindow.get() != window && rateWindow.getAndSet(window) != window) {
+         eventsInRateWindow.set(0);
+      }
+      final int eventsInWindow = eventsInRateWindow.incrementAndGet();
+      if (eventsInWindow > MAX_EVENTS_PER_SECOND && eventsInWindow % SAMPLING_INTERVAL != 0) {
+         sampledOut.incrementAndGet();
+         return;
+      }
+
+      final var truncatedMessage = message.length() > MAX_MESSAGE_LENGTH //
+            ? message.substring(0, MAX_MESSAGE_LENGTH) + "..."
+            : message;
+      if (buffer.offer(new Entry(System.currentTimeMillis(), session, truncatedMessage))) {
+         // a no-op if the job is already waiting, re-runs the job once finished if it is currently draining the buffer
+         drainJob.schedule(DRAIN_DELAY_MS);
+      }
+   }
+
+   public void clear() {
+      drain();
+      synchronized (history) {
+         history.clear();
+      }
+      historyVersion.incrementAndGet();
+   }
+
+   private void drain() {
+      synchronized (history) {
+         if (buffer.drain(entry -> {
+            if (history.size() == MAX_HISTORY) {
+               history.removeFirst();
+            }
+            history.addLast(entry);
+         }, BUFFER_CAPACITY) > 0) {
+            historyVersion.incrementAndGet();
+         }
+      }
+   }
+
+   public Counters getCounters() {
+      return new Counters(received.get(), sampledOut.get(), buffer.getDroppedCount());
+   }
+
+   /**
+    * @return a snapshot of the collected entries, oldest first
+    */
+   public List<Entry> getEntries() {
+      synchronized (history) {
+         return new ArrayList<>(history);
+      }
+   }
+
+   /**
+    * @return a value that changes whenever entries were added or removed
+    */
+   public long getVersion() {
+      return historyVersion.get();
+   }
+}
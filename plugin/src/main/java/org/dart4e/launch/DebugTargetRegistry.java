@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.launch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Concurrent registry of the running debug targets, indexed by project.
+ * <p>
+ * Targets are removed when they fire a {@link DebugEvent#TERMINATE} event. Targets found terminated or disconnected during a lookup
+ * are removed as well, e.g. when the debug adapter connection was lost without a terminate event.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DebugTargetRegistry<T extends HotReloadTarget> {
+
+   private final Map<IProject, Set<T>> targetsByProject = new ConcurrentHashMap<>();
+   private final AtomicBoolean isDebugEventListenerRegistered = new AtomicBoolean();
+
+   private final IDebugEventSetListener debugEventListener = events -> {
+      if (events == null)
+         return;
+      for (final var event : events) {
+         if (event.getKind() == DebugEvent.TERMINATE && event.getSource() instanceof final HotReloadTarget target) {
+            unregister(target);
+         }
+      }
+   };
+
+   public void dispose() {
+      if (isDebugEventListenerRegistered.compareAndSet(true, false)) {
+         final var debugPlugin = DebugPlugin.getDefault();
+         if (debugPlugin != null) {
+            debugPlugin.removeDebugEventListener(debugEventListener);
+         }
+      }
+      targetsByProject.clear();
+   }
+
+   /**
+    * @return a snapshot of the running debug targets of the given project
+    */
+   public List<T> getTargets(final IProject project) {
+      final var targets = targetsByProject.get(project);
+      if (targets == null)
+         return List.of();
+
+      final var result = new ArrayList<T>(targets.size());
+      for (final var target : targets) {
+         if (target.isTerminated() || target.isDisconnected()) {
+            unregister(target);
+         } else {
+            result.add(target);
+         }
+      }
+      return result;
+   }
+
+   public void register(final T target) {
+      if (isDebugEventListenerRegistered.compareAndSet(false, true)) {
+         DebugPlugin.getDefault().addDebugEventListener(debugEventListener);
+      }
+      // add within the remapping function, a set emptied and removed by a concurrent unregister() would otherwise lose the target
+      targetsByProject.compute(target.getProject(), (project, targets) -> {
+         final var result = targets == null ? ConcurrentHashMap.<T> newKeySet() : targets;
+         result.add(target);
+         return result;
+      });
+   }
+
+   public void unregister(final @Nullable HotReloadTarget target) {
+      if (target == null)
+         return;
+      targetsByProject.computeIfPresent(target.getProject(), (project, targets) -> {
+         targets.remove(target);
+         return targets.isEmpty() ? null : targets;
+      });
+   }
+}
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.launch;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Debug target supporting hot reload on save, see {@link AbstractHotReloadListener}.
+ *
+ * @author Sebastian Thomschke
+ */
+public interface HotReloadTarget extends IDebugTarget {
+
+   @Nullable
+   String getDartDebuggerURI();
+
+   /**
+    * @return the file system path of the launched Dart file or test directory, null if unknown
+    */
+   @Nullable
+   Path getEntrypoint();
+
+   IProject getProject();
+
+   /**
+    * @param changedFiles the saved files triggering the reload. The debug adapters determine the affected libraries themselves, the
+    *           files are only used for logging and reporting.
+    */
+   CompletableFuture<Void> hotReload(List<IFile> changedFiles);
+
+   boolean isHotReloadOnSave();
+}
@@ -10,14 +10,18 @@
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import org.dart4e.prefs.DartWorkspacePreference;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing;
-import org.dart4e.util.io.VSCodeJsonRpcLineTracing.Source;
+import org.dart4e.util.io.JsonRpcTracer;
+import org.dart4e.util.io.JsonRpcTracer.Source;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -32,9 +36,6 @@
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
 import org.eclipse.lsp4j.jsonrpc.debug.DebugLauncher;
 
-import net.sf.jstuff.core.io.stream.LineCapturingInputStream;
-import net.sf.jstuff.core.io.stream.LineCapturingOutputStream;
-
 /**
  * @author Sebastian Thomschke
  */
@@ -44,10 +45,12 @@ public class LaunchDebugConfig extends DSPLaunchDelegate {
    private final class DartDebugTargetImpl extends DSPDebugTarget implements DartDebugTarget, DartDebugClient {
 
       private @Nullable DartDebuggerUriEvent debuggerInfo;
+      private final @Nullable Path entrypoint;
 
       protected DartDebugTargetImpl(final ILaunch launch, final Supplier<TransportStreams> streamsSupplier,
             final Map<String, Object> dspParameters) {
          super(launch, streamsSupplier, dspParameters);
+         entrypoint = getEntrypoint(dspParameters);
       }
 
       @Override
@@ -70,6 +73,16 @@ public DartDebugAPI getDebugAPI() {
          return debuggerInfo.vmServiceUri;
       }
 
+      @Override
+      public @Nullable Path getEntrypoint() {
+         return entrypoint;
+      }
+
+      @Override
+      public CompletableFuture<Void> hotReload(final List<IFile> changedFiles) {
+         return getDebugAPI().hotReload();
+      }
+
       @Override
       public boolean isHotReloadOnSave() {
          return hotReloadOnSave;
@@ -87,6 +100,16 @@ public void onDartDebuggerUris(final Map<String, ?> args) {
       }
    }
 
+   /**
+    * @see <a href="https://github.com/dart-lang/sdk/blob/main/third_party/pkg/dap/tool/README.md#launchattach-arguments">Launch
+    *      arguments</a>
+    */
+   private static @Nullable Path getEntrypoint(final Map<String, Object> dspParameters) {
+      if (dspParameters.get("cwd") instanceof final String cwd && dspParameters.get("program") instanceof final String program)
+         return Path.of(cwd).resolve(program).normalize();
+      return null;
+   }
+
    private final IProject project;
    private boolean hotReloadOnSave;
 
@@ -100,23 +123,21 @@ public LaunchDebugConfig(final IProject project, final boolean hotReloadOnSave)
    @NonNullByDefault({})
    protected DartDebugTarget createDebugTarget(final SubMonitor mon, final Supplier<TransportStreams> streamsSupplier, final ILaunch launch,
          final Map<String, Object> dspParameters) throws CoreException {
-      final var isTraceIOVerbose = DartWorkspacePreference.isDAPTraceIOVerbose();
-      final var effectiveStreamsSupplier = isTraceIOVerbose || DartWorkspacePreference.isDAPTraceIO() //
+      final var traceSession = JsonRpcTracer.DAP.newSession(DartWorkspacePreference.isDAPTraceIO(), DartWorkspacePreference
+         .isDAPTraceIOVerbose(), DartWorkspacePreference.isDAPTraceStatistics());
+      final var effectiveStreamsSupplier = traceSession.isEnabled() //
             ? (Supplier<TransportStreams>) () -> {
                final var streams = streamsSupplier.get();
                return new DefaultTransportStreams( //
-                  new LineCapturingInputStream(asNonNullUnsafe(streams.in), line -> VSCodeJsonRpcLineTracing.traceLine(Source.SERVER_OUT,
-                     line, isTraceIOVerbose)), //
-                  new LineCapturingOutputStream(asNonNullUnsafe(streams.out), line -> VSCodeJsonRpcLineTracing.traceLine(Source.CLIENT_OUT,
-                     line, isTraceIOVerbose)));
+                  traceSession.tap(asNonNullUnsafe(streams.in), Source.SERVER_OUT), //
+                  traceSession.tap(asNonNullUnsafe(streams.out), Source.CLIENT_OUT));
             }
             : streamsSupplier;
 
       final var target = new DartDebugTargetImpl(launch, effectiveStreamsSupplier, dspParameters);
       target.initialize(mon.split(80));
 
-      DartDebugTarget.ACTIVE_TARGETS.removeIf(DartDebugTarget::isTerminated);
-      DartDebugTarget.ACTIVE_TARGETS.add(target);
+      DartDebugTarget.ACTIVE_TARGETS.register(target);
 
       return target;
    }
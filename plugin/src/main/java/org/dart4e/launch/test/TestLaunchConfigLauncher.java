@@ -18,6 +18,7 @@
 import org.dart4e.launch.LaunchDebugConfig;
 import org.dart4e.localization.Messages;
 import org.dart4e.prefs.DartProjectPreference;
+import org.dart4e.prefs.DartWorkspacePreference;
 import org.dart4e.util.TreeBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -78,7 +79,8 @@ public void launch(final ILaunchConfiguration config, final String mode, final I
                .put("program", testResources.get(0))
                // TODO appendEnvVars handling, i.e. running with a clean env is not supported (yet) by Dart Debug Adapter
                .put("env", envVars) //
-               // .put("sendLogsToClient", true) // has performance implications, intended for troubleshooting
+               // has performance implications, intended for troubleshooting
+               .put("sendLogsToClient", DartWorkspacePreference.isDAPTraceLogs()) //
                .put("args", programArgs) //
                .put("toolArgs", testResources) //
                .put("vmAdditionalArgs", vmArgs) //
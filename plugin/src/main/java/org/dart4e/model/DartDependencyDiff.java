@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Structural diff between two resolved dependency sets, matched by package name.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DartDependencyDiff {
+
+   /**
+    * A package that is present in both dependency sets but with a different version, location or dependency type.
+    */
+   public record Change(DartDependency oldDependency, DartDependency newDependency) {
+   }
+
+   public static DartDependencyDiff of(final Collection<DartDependency> oldDeps, final Collection<DartDependency> newDeps) {
+      final var oldDepsByName = new HashMap<String, DartDependency>();
+      for (final var dep : oldDeps) {
+         oldDepsByName.put(dep.name, dep);
+      }
+
+      final var added = new ArrayList<DartDependency>();
+      final var changed = new ArrayList<Change>();
+      for (final var newDep : newDeps) {
+         final var oldDep = oldDepsByName.remove(newDep.name);
+         if (oldDep == null) {
+            added.add(newDep);
+         } else if (!oldDep.location.equals(newDep.location) //
+               || !Objects.equals(oldDep.version, newDep.version) //
+               || oldDep.isDevDependency != newDep.isDevDependency //
+               || oldDep.isTransitiveDependency != newDep.isTransitiveDependency) {
+            changed.add(new Change(oldDep, newDep));
+         }
+      }
+      return new DartDependencyDiff(added, List.copyOf(oldDepsByName.values()), changed);
+   }
+
+   public final List<DartDependency> added;
+   public final List<DartDependency> removed;
+   public final List<Change> changed;
+
+   private DartDependencyDiff(final List<DartDependency> added, final List<DartDependency> removed, final List<Change> changed) {
+      this.added = List.copyOf(added);
+      this.removed = removed;
+      this.changed = List.copyOf(changed);
+   }
+
+   public boolean isEmpty() {
+      return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+   }
+
+   @Override
+   public String toString() {
+      return "DartDependencyDiff [added=" + added.size() + ", removed=" + removed.size() + ", changed=" + changed.size() + "]";
+   }
+}
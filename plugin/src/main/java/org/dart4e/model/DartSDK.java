@@ -13,6 +13,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -102,21 +103,26 @@ public class DartSDK implements Comparable<DartSDK> {
       if (!Files.isExecutable(dartExe))
          return null;
 
-      final var processBuilder = Processes.builder(dartExe).withArg("--version");
-      final var versionPattern = Pattern.compile("Dart SDK version:\\s*(\\S+)");
-      try (var reader = new BufferedReader(new InputStreamReader(processBuilder.start().getStdOut()))) {
-         String line;
-         while ((line = reader.readLine()) != null) {
-            // Example line: "Dart SDK version: 3.7.2 (stable) (Tue Mar 11 04:27:50 2025 -0700) on "windows_x64"
-            final var matcher = versionPattern.matcher(line);
-            if (matcher.find())
-               return matcher.group(1); // Captured version (e.g., "3.7.2")
-         }
+      final var versionFile = getRealInstallRoot.get().resolve("version");
+      return SDKMetadataCache.INSTANCE.getVersion("dart", installRoot, List.of(dartExe, versionFile), //
+         () -> readVersionFile(versionFile), //
+         this::getVersionFromProcess);
+   }, (version, ageMS) -> ageMS > (version == null ? 10_000 : 60_000));
+
+   /**
+    * @return the first line of the given version file (e.g. "3.7.2") or null if the file does not exist or is empty
+    */
+   private static @Nullable String readVersionFile(final Path versionFile) {
+      if (!Files.isRegularFile(versionFile))
+         return null;
+      try (var reader = Files.newBufferedReader(versionFile)) {
+         final var line = reader.readLine();
+         return line == null || line.isBlank() ? null : line.trim();
       } catch (final IOException ex) {
          Dart4EPlugin.log().error(ex);
+         return null;
       }
-      return null;
-   }, (version, ageMS) -> ageMS > (version == null ? 10_000 : 60_000));
+   }
 
    @SuppressWarnings("unused")
    private DartSDK() {
@@ -227,6 +233,23 @@ public Path getStandardLibDir() {
       return getVersionCached.get();
    }
 
+   private @Nullable String getVersionFromProcess() {
+      final var processBuilder = Processes.builder(getDartExecutable()).withArg("--version");
+      final var versionPattern = Pattern.compile("Dart SDK version:\\s*(\\S+)");
+      try (var reader = new BufferedReader(new InputStreamReader(processBuilder.start().getStdOut()))) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            // Example line: "Dart SDK version: 3.7.2 (stable) (Tue Mar 11 04:27:50 2025 -0700) on "windows_x64"
+            final var matcher = versionPattern.matcher(line);
+            if (matcher.find())
+               return matcher.group(1); // Captured version (e.g., "3.7.2")
+         }
+      } catch (final IOException ex) {
+         Dart4EPlugin.log().error(ex);
+      }
+      return null;
+   }
+
    public void installInteractiveShell(final IProgressMonitor monitor) throws CoreException {
       final var interactivePackageIsInstalled = MutableRef.of(false);
       try {
@@ -0,0 +1,233 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.flutter.model.FlutterSDK;
+import org.dart4e.util.DaemonThreadFactory;
+import org.eclipse.jdt.annotation.Nullable;
+
+import net.sf.jstuff.core.Strings;
+import net.sf.jstuff.core.SystemUtils;
+import net.sf.jstuff.core.event.AsyncEventDispatcher;
+import net.sf.jstuff.core.event.EventListener;
+
+/**
+ * Discovers and validates Dart SDKs in the background.
+ * <p>
+ * Candidates are collected from <code>DART_HOME</code>, <code>PATH</code>, <code>FLUTTER_ROOT</code>, common install directories and
+ * the version caches of fvm and asdf. Each candidate is validated on a small thread pool, results are published as futures and
+ * events, so UI code never has to spawn processes or walk the <code>PATH</code> itself.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DartSDKRegistry {
+
+   public static final DartSDKRegistry INSTANCE = new DartSDKRegistry();
+
+   private static final int MAX_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+   private static void addCandidate(final Set<Path> candidates, final @Nullable Path dir) {
+      if (dir != null && Files.isDirectory(dir)) {
+         candidates.add(dir.normalize().toAbsolutePath());
+      }
+   }
+
+   private static void addEnvCandidate(final Set<Path> candidates, final String envVar) {
+      final var value = System.getenv(envVar);
+      if (!Strings.isBlank(value)) {
+         addCandidate(candidates, Paths.get(value));
+      }
+   }
+
+   private static void addSubDirCandidates(final Set<Path> candidates, final Path parentDir) {
+      if (!Files.isDirectory(parentDir))
+         return;
+
+      try (var dirs = Files.list(parentDir)) {
+         dirs.sorted().forEach(dir -> addCandidate(candidates, dir));
+      } catch (final IOException ex) {
+         Dart4EPlugin.log().debug("Failed to list {0}: {1}", parentDir, ex.getMessage());
+      }
+   }
+
+   /**
+    * @return candidate SDK install roots in order of preference
+    */
+   static Set<Path> collectCandidates() {
+      final var candidates = new LinkedHashSet<Path>();
+
+      addEnvCandidate(candidates, DartSDK.ENV_DART_HOME);
+
+      // executables found on the PATH, resolving symlinks such as /usr/bin/dart -> /usr/lib/dart/bin/dart
+      final var exeNames = SystemUtils.IS_OS_WINDOWS ? List.of("dart.exe", "dart.bat") : List.of("dart");
+      for (final var pathEntry : Strings.split(SystemUtils.getEnvironmentVariable("PATH", ""), File.pathSeparator)) {
+         if (Strings.isBlank(pathEntry)) {
+            continue;
+         }
+         for (final var exeName : exeNames) {
+            final var exe = Paths.get(pathEntry, exeName);
+            if (!Files.isRegularFile(exe)) {
+               continue;
+            }
+            try {
+               final var binDir = exe.toRealPath().getParent();
+               addCandidate(candidates, binDir == null ? null : binDir.getParent());
+            } catch (final IOException ex) {
+               Dart4EPlugin.log().debug("Failed to resolve {0}: {1}", exe, ex.getMessage());
+            }
+         }
+      }
+
+      addEnvCandidate(candidates, FlutterSDK.ENV_FLUTTER_ROOT);
+
+      // common install directories
+      final var userHome = Paths.get(System.getProperty("user.home"));
+      addCandidate(candidates, userHome.resolve("dart-sdk"));
+      addCandidate(candidates, userHome.resolve("flutter"));
+      addCandidate(candidates, userHome.resolve("development/flutter"));
+      if (SystemUtils.IS_OS_WINDOWS) {
+         addCandidate(candidates, Paths.get("C:\\tools\\dart-sdk"));
+         addCandidate(candidates, Paths.get("C:\\src\\flutter"));
+      } else {
+         addCandidate(candidates, Paths.get("/usr/lib/dart"));
+         addCandidate(candidates, Paths.get("/usr/local/opt/dart/libexec"));
+         addCandidate(candidates, Paths.get("/opt/homebrew/opt/dart/libexec"));
+         addCandidate(candidates, Paths.get("/opt/flutter"));
+      }
+
+      // SDK version managers
+      addSubDirCandidates(candidates, userHome.resolve("fvm/versions"));
+      addSubDirCandidates(candidates, userHome.resolve(".fvm/versions"));
+      addSubDirCandidates(candidates, userHome.resolve(".asdf/installs/dart"));
+      addSubDirCandidates(candidates, userHome.resolve(".asdf/installs/flutter"));
+      return candidates;
+   }
+
+   private final AsyncEventDispatcher<DartSDK> sdkDiscoveredEvents = new AsyncEventDispatcher<>();
+   private final Map<DartSDK, CompletableFuture<Boolean>> validations = new ConcurrentHashMap<>();
+   private final ThreadPoolExecutor executor;
+   private volatile @Nullable CompletableFuture<List<DartSDK>> discovery;
+
+   private DartSDKRegistry() {
+      executor = DaemonThreadFactory.newThreadPool("dart4e-sdk-registry", MAX_THREADS);
+   }
+
+   /**
+    * Returns the valid SDKs found on this machine, starting the discovery on first invocation.
+    *
+    * @return a future completing with the valid SDKs in order of preference, i.e. SDKs referenced by environment variables first
+    */
+   public CompletableFuture<List<DartSDK>> getDiscoveredSDKs() {
+      var discovery = this.discovery;
+      if (discovery == null) {
+         synchronized (this) {
+            discovery = this.discovery;
+            if (discovery == null) {
+               discovery = this.discovery = discover();
+            }
+         }
+      }
+      return discovery;
+   }
+
+   /**
+    * @return the SDK that would be picked from the environment or null if discovery has not finished yet or found no valid SDK
+    */
+   public @Nullable DartSDK getDiscoveredSDKNow() {
+      final var sdks = getDiscoveredSDKs().getNow(List.of());
+      return sdks.isEmpty() ? null : sdks.get(0);
+   }
+
+   /**
+    * @return the validation result of the given SDK or null if it is still being validated (validation is started if necessary)
+    */
+   public @Nullable Boolean getValidationResultNow(final DartSDK sdk) {
+      return validate(sdk).getNow(null);
+   }
+
+   private CompletableFuture<List<DartSDK>> discover() {
+      final long startedAt = System.currentTimeMillis();
+      return CompletableFuture.supplyAsync(DartSDKRegistry::collectCandidates, executor) //
+         .thenCompose(candidates -> {
+            final var futures = new ArrayList<CompletableFuture<@Nullable DartSDK>>(candidates.size());
+            for (final var candidate : candidates) {
+               futures.add(CompletableFuture.supplyAsync(() -> {
+                  final var sdk = new DartSDK(candidate);
+                  if (!sdk.isValid())
+                     return null;
+                  validations.put(sdk, CompletableFuture.completedFuture(true));
+                  sdkDiscoveredEvents.fire(sdk);
+                  return sdk;
+               }, executor));
+            }
+            return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(v -> {
+               final var result = new ArrayList<DartSDK>();
+               for (final var future : futures) {
+                  final var sdk = future.join();
+                  if (sdk != null) {
+                     result.add(sdk);
+                  }
+               }
+               Dart4EPlugin.log().debug("Discovered {0} Dart SDK(s) from {1} candidate location(s) in {2} ms", result.size(), candidates
+                  .size(), System.currentTimeMillis() - startedAt);
+               return List.copyOf(result);
+            });
+         }) //
+         .exceptionally(ex -> {
+            Dart4EPlugin.log().error(ex, "Dart SDK discovery failed");
+            return List.of();
+         });
+   }
+
+   /**
+    * Stops accepting new discovery and validation tasks, already queued tasks are still completed.
+    */
+   public void dispose() {
+      executor.shutdown();
+   }
+
+   /**
+    * Discards the cached validation result of the given SDK so it is validated again on next access, e.g. after it was added,
+    * edited or removed.
+    */
+   public void invalidate(final DartSDK sdk) {
+      validations.remove(sdk);
+   }
+
+   /**
+    * @return true if the listener was not yet subscribed
+    */
+   public boolean subscribe(final EventListener<DartSDK> listener) {
+      return sdkDiscoveredEvents.subscribe(listener);
+   }
+
+   public boolean unsubscribe(final EventListener<DartSDK> listener) {
+      return sdkDiscoveredEvents.unsubscribe(listener);
+   }
+
+   /**
+    * Validates the given SDK in the background. The result is cached until {@link #invalidate(DartSDK)} is called.
+    */
+   public CompletableFuture<Boolean> validate(final DartSDK sdk) {
+      return validations.computeIfAbsent(sdk, key -> CompletableFuture.supplyAsync(key::isValid, executor));
+   }
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.util.io.PersistentJsonFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Workspace-wide, persistent cache of SDK metadata (currently the SDK version) keyed by SDK type and install root.
+ * <p>
+ * An entry is only considered valid as long as the modification stamp of the SDK's relevant files (e.g. the executable and the
+ * version file) did not change, so SDK upgrades are detected without having to run <code>dart --version</code> or
+ * <code>flutter --version</code>.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class SDKMetadataCache {
+
+   record Entry(String version, long stamp) {
+   }
+
+   public static final SDKMetadataCache INSTANCE = new SDKMetadataCache();
+
+   private static long computeStamp(final List<Path> stampFiles) {
+      long stamp = 0;
+      for (final var file : stampFiles) {
+         try {
+            if (Files.exists(file)) {
+               stamp = 31 * stamp + Files.getLastModifiedTime(file).toMillis();
+            }
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().debug("Cannot determine last modification time of {0}: {1}", file, ex.getMessage());
+         }
+      }
+      return stamp;
+   }
+
+   private final PersistentJsonFile<Map<String, Entry>> cacheFile = new PersistentJsonFile<>("sdk-metadata.json", "SDK metadata cache",
+      new TypeReference<Map<String, Entry>>() {});
+   private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+   private volatile boolean isLoaded;
+
+   private final Job saveJob = new Job("Saving SDK metadata cache...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         save();
+         return Status.OK_STATUS;
+      }
+   };
+
+   private SDKMetadataCache() {
+      saveJob.setSystem(true);
+   }
+
+   private void ensureLoaded() {
+      if (isLoaded)
+         return;
+
+      synchronized (entries) {
+         if (isLoaded)
+            return;
+         isLoaded = true;
+
+         final var loaded = cacheFile.load();
+         if (loaded != null) {
+            loaded.forEach(entries::putIfAbsent);
+         }
+      }
+   }
+
+   /**
+    * @param sdkType e.g. "dart" or "flutter"
+    * @param stampFiles files whose modification times indicate an SDK change, e.g. the executable and the version file
+    * @param versionFromFiles reads the version from the SDK's metadata files, may return null if the files are missing
+    * @param versionFromProcess determines the version by executing the SDK, only used if the version cannot be read from files
+    * @return null if the version could not be determined
+    */
+   public @Nullable String getVersion(final String sdkType, final Path installRoot, final List<Path> stampFiles,
+         final Supplier<@Nullable String> versionFromFiles, final Supplier<@Nullable String> versionFromProcess) {
+      ensureLoaded();
+
+      final var key = sdkType + ":" + installRoot;
+      final var stamp = computeStamp(stampFiles);
+      final var cached = entries.get(key);
+      if (cached != null && cached.stamp == stamp)
+         return cached.version;
+
+      var version = versionFromFiles.get();
+      if (version == null) {
+         version = versionFromProcess.get();
+      }
+
+      if (version == null) {
+         if (entries.remove(key) != null) {
+            saveJob.schedule(2_000);
+         }
+      } else {
+         entries.put(key, new Entry(version, stamp));
+         saveJob.schedule(2_000);
+      }
+      return version;
+   }
+
+   /**
+    * Persists the cache to the plugin's state location.
+    */
+   public void save() {
+      if (isLoaded) {
+         cacheFile.save(entries);
+      }
+   }
+}
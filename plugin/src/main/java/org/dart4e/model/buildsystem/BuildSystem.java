@@ -9,14 +9,20 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import org.dart4e.Constants;
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.flutter.model.buildsystem.FlutterBuildFile;
+import org.dart4e.project.DartProjectNature;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.annotation.Nullable;
+import org.yaml.snakeyaml.Yaml;
 
+import de.sebthom.eclipse.commons.resources.Projects;
 import de.sebthom.eclipse.commons.resources.Resources;
 
 /**
@@ -40,8 +46,67 @@ private static boolean contains(final Path file, final String searchFor) throws
       return false;
    }
 
+   /**
+    * Determines the root directory of the pub workspace (see https://dart.dev/tools/pub/workspaces) the package in the given folder
+    * is a member of, i.e. the nearest parent directory whose <code>pubspec.yaml</code> lists the package in its
+    * <code>workspace</code> section.
+    *
+    * @return null if the package does not use <code>resolution: workspace</code> or no matching workspace root was found
+    */
+   public static @Nullable Path findPubWorkspaceRoot(final Path packageFolder) {
+      final var pubspec = readPubspec(packageFolder);
+      if (pubspec == null || !"workspace".equals(pubspec.get("resolution")))
+         return null;
+
+      final var normalizedPackageFolder = packageFolder.toAbsolutePath().normalize();
+      for (var dir = normalizedPackageFolder.getParent(); dir != null; dir = dir.getParent()) {
+         if (getPubWorkspaceMembers(dir).contains(normalizedPackageFolder))
+            return dir;
+      }
+      return null;
+   }
+
+   /**
+    * @return the absolute, normalized folders of the packages listed in the <code>workspace</code> section of the
+    *         <code>pubspec.yaml</code> in the given folder or an empty list if the folder is no pub workspace root
+    */
+   public static List<Path> getPubWorkspaceMembers(final Path workspaceRoot) {
+      final var pubspec = readPubspec(workspaceRoot);
+      if (pubspec == null || !(pubspec.get("workspace") instanceof final List<?> members))
+         return List.of();
+
+      final var normalizedRoot = workspaceRoot.toAbsolutePath().normalize();
+      final var result = new ArrayList<Path>(members.size());
+      for (final var member : members) {
+         if (member != null) {
+            result.add(normalizedRoot.resolve(member.toString()).normalize());
+         }
+      }
+      return result;
+   }
+
+   /**
+    * @return the open Dart projects located in the given pub workspace root or in one of its member folders
+    */
+   public static List<IProject> getPubWorkspaceProjects(final Path workspaceRoot) {
+      final var members = getPubWorkspaceMembers(workspaceRoot);
+      if (members.isEmpty())
+         return List.of();
+
+      final var normalizedRoot = workspaceRoot.toAbsolutePath().normalize();
+      return Projects.getOpenProjectsWithNature(DartProjectNature.NATURE_ID) //
+         .filter(p -> {
+            final var projectDir = Resources.toAbsolutePath(p).normalize();
+            return projectDir.equals(normalizedRoot) || members.contains(projectDir);
+         }) //
+         .toList();
+   }
+
+   /**
+    * @return the cached build system of the given project, see {@link BuildSystemCache}
+    */
    public static BuildSystem guessBuildSystemOfProject(final IProject project) {
-      return guessBuildSystemOfProject(Resources.toAbsolutePath(project));
+      return BuildSystemCache.INSTANCE.get(project);
    }
 
    public static BuildSystem guessBuildSystemOfProject(final Path projectFolder) {
@@ -58,6 +123,19 @@ public static BuildSystem guessBuildSystemOfProject(final Path projectFolder) {
       return DART;
    }
 
+   private static @Nullable Map<?, ?> readPubspec(final Path packageFolder) {
+      final var pubspecFile = packageFolder.resolve(Constants.PUBSPEC_YAML_FILENAME);
+      if (!Files.isRegularFile(pubspecFile))
+         return null;
+
+      try (var reader = Files.newBufferedReader(pubspecFile)) {
+         return new Yaml().loadAs(reader, Map.class);
+      } catch (final Exception ex) {
+         Dart4EPlugin.log().error(ex, "Failed to read " + pubspecFile);
+         return null;
+      }
+   }
+
    @Nullable
    public BuildFile findBuildFile(final IProject project) {
       if (this == UNKNOWN)
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model.buildsystem;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dart4e.Constants;
+import org.dart4e.util.AbstractResourcesChangedListener;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.Path;
+
+import de.sebthom.eclipse.commons.resources.Resources;
+
+/**
+ * Caches the {@link BuildSystem} detected for each project so callers on UI paths (e.g. label decorators) do not need to read the
+ * project's <code>pubspec.yaml</code>.
+ * <p>
+ * Entries are invalidated when the project's <code>pubspec.yaml</code> is added, changed or removed and when the project is
+ * closed, moved or deleted.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class BuildSystemCache extends AbstractResourcesChangedListener {
+
+   public static final BuildSystemCache INSTANCE = new BuildSystemCache();
+
+   private static final Path PUBSPEC_YAML_PATH = new Path(Constants.PUBSPEC_YAML_FILENAME);
+
+   private final Map<IProject, BuildSystem> buildSystems = new ConcurrentHashMap<>();
+
+   private BuildSystemCache() {
+   }
+
+   public BuildSystem get(final IProject project) {
+      return buildSystems.computeIfAbsent(project, p -> BuildSystem.guessBuildSystemOfProject(Resources.toAbsolutePath(p)));
+   }
+
+   public void invalidate(final IProject project) {
+      buildSystems.remove(project);
+   }
+
+   @Override
+   public void resourceChanged(final IResourceChangeEvent event) {
+      if (event.getType() != IResourceChangeEvent.POST_CHANGE || buildSystems.isEmpty())
+         return;
+
+      final var rootDelta = event.getDelta();
+      if (rootDelta == null)
+         return;
+
+      for (final var projectDelta : rootDelta.getAffectedChildren()) {
+         if (!(projectDelta.getResource() instanceof final IProject project) || !buildSystems.containsKey(project)) {
+            continue;
+         }
+
+         if (projectDelta.getKind() == IResourceDelta.REMOVED //
+               || (projectDelta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0 //
+               || projectDelta.findMember(PUBSPEC_YAML_PATH) != null) {
+            invalidate(project);
+         }
+      }
+   }
+}
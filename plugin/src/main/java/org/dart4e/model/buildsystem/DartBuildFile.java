@@ -10,32 +10,48 @@
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import org.dart4e.Constants;
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.console.DartConsole;
 import org.dart4e.model.DartDependency;
+import org.dart4e.model.buildsystem.PubspecLockReader.LockedPackage;
 import org.dart4e.prefs.DartProjectPreference;
+import org.dart4e.util.io.JSON;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
-import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.yaml.snakeyaml.Yaml;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 import de.sebthom.eclipse.commons.resources.Resources;
 import de.sebthom.eclipse.commons.ui.UI;
 import de.sebthom.eclipse.commons.ui.widgets.NotificationPopup;
 import net.sf.jstuff.core.Strings;
+import net.sf.jstuff.core.event.AsyncEventDispatcher;
+import net.sf.jstuff.core.event.EventListener;
+import net.sf.jstuff.core.functional.Suppliers;
 import net.sf.jstuff.core.io.RuntimeIOException;
 import net.sf.jstuff.core.validation.Assert;
 
@@ -44,7 +60,39 @@
  */
 public class DartBuildFile extends BuildFile {
 
-   protected Set<DartDependency> deps = Collections.emptySet();
+   /**
+    * top-level <code>pubspec.yaml</code> sections that affect dependency resolution
+    */
+   private static final List<String> DEPENDENCY_RELEVANT_SECTIONS = List.of("name", "environment", "dependencies", "dev_dependencies",
+      "dependency_overrides", "workspace", "resolution");
+
+   /**
+    * per pub workspace root the {@link System#nanoTime()} at which the last successful resolution of the shared dependencies
+    * started, also used as lock object
+    */
+   private static final Map<java.nio.file.Path, AtomicLong> WORKSPACE_RESOLUTIONS = new ConcurrentHashMap<>();
+
+   /**
+    * fired for each other open member project of a pub workspace after the shared dependencies were resolved
+    */
+   private static final AsyncEventDispatcher<IProject> WORKSPACE_MEMBER_RESOLVED_EVENTS = new AsyncEventDispatcher<>();
+
+   /**
+    * Subscribes to the members of pub workspaces whose dependencies were resolved together with another member. The manifest
+    * hashes of these members are already recorded, so updating their dependencies does not run <code>pub get</code> again.
+    *
+    * @return true if the listener was not yet subscribed
+    */
+   public static boolean subscribeToWorkspaceMemberResolved(final EventListener<IProject> listener) {
+      return WORKSPACE_MEMBER_RESOLVED_EVENTS.subscribe(listener);
+   }
+
+   public static boolean unsubscribeFromWorkspaceMemberResolved(final EventListener<IProject> listener) {
+      return WORKSPACE_MEMBER_RESOLVED_EVENTS.unsubscribe(listener);
+   }
+
+   private final Supplier<java.nio.file.@Nullable Path> pubWorkspaceRoot = Suppliers.memoize(() -> BuildSystem.findPubWorkspaceRoot(
+      Resources.toAbsolutePath(getProject())));
 
    protected DartBuildFile(final BuildSystem bs, final IFile location) {
       super(bs, location);
@@ -65,83 +113,180 @@ public Set<DartDependency> getDependencies(final IProgressMonitor monitor) {
 
       final var pubCacheDir = dartSDK.getPubCacheDir();
 
+      final var manifestHash = computeManifestHash();
       boolean depsNewlyResolved = false;
-      if (!Files.exists(pubCacheDir) || !isLockFileUpToDate()) {
-         resolveDependencies(monitor); // update needed
+      boolean hasErrors = false;
+      if (!Files.exists(pubCacheDir) || !isLockFileUpToDate(manifestHash)) {
+         // update needed, the manifest hash is only recorded on success so a failed or aborted resolution is retried
+         if (resolveDependencies(monitor)) {
+            DartDependencyCache.INSTANCE.putManifestHash(project, manifestHash);
+         } else {
+            hasErrors = true;
+         }
          depsNewlyResolved = true;
-      } else if (!deps.isEmpty())
-         return deps;
+      } else {
+         final var cachedDeps = DartDependencyCache.INSTANCE.get(project, DartDependencyCache.fingerprint(dartSDK, manifestHash,
+            getLockFile()));
+         if (cachedDeps != null)
+            return cachedDeps;
+      }
 
       Assert.isDirectoryReadable(pubCacheDir);
 
       /*
        * parse the pubspec.lock for the resolved dependencies
        */
-      final var deps = new LinkedHashSet<DartDependency>();
-      try (var reader = Files.newBufferedReader(Resources.toAbsolutePath(getLockFile()))) {
-         final var lockFileYaml = new Yaml().loadAs(reader, Map.class);
-         @SuppressWarnings("unchecked")
-         final var packages = (Map<String, Map<String, ?>>) lockFileYaml.get("packages");
-         if (packages != null) {
-            for (final var entry : packages.entrySet()) {
-               try {
-                  final String name = entry.getKey();
-                  monitor.setTaskName("Locating Dart library " + name + "...");
-
-                  final var meta = entry.getValue();
-                  final var descr = asNonNull(meta.get("description")); // can be String or (Map<String, String>)
-                  final var source = (String) asNonNull(meta.get("source"));
-                  final var version = (String) asNonNull(meta.get("version"));
-
-                  final java.nio.file.Path libLocation = switch (source) {
-                     case "hosted" -> {
-                        final var url = URI.create(asNonNull((String) ((Map<?, ?>) descr).get("url")));
-                        yield pubCacheDir.resolve(source).resolve(url.getHost()).resolve(name + "-" + version);
-                     }
-                     case "git" -> {
-                        final var resolvedRef = ((Map<?, ?>) descr).get("resolved-ref");
-                        var resolvedLocalPath = pubCacheDir.resolve(source).resolve(name + "-" + resolvedRef);
-                        if (!Files.exists(resolvedLocalPath)) {
-                           final var gitUrl = (String) asNonNull(((Map<?, ?>) descr).get("url"));
-                           var repoName = Strings.substringAfterLast(gitUrl, "/");
-                           repoName = Strings.removeEnd(repoName, ".git");
-                           resolvedLocalPath = pubCacheDir.resolve(source).resolve(repoName + "-" + resolvedRef);
-                        }
-                        yield resolvedLocalPath;
-                     }
-                     case "path" -> {
-                        @SuppressWarnings("null")
-                        final var path = (@NonNull String) ((Map<?, ?>) descr).get("path");
-                        final var isRelative = (Boolean) ((Map<?, ?>) descr).get("relative");
-                        yield isRelative //
-                              ? Resources.toAbsolutePath(project).resolve(path).normalize()
-                              : Paths.get(path);
-                     }
-                     case "sdk" -> getSDKDependencyLocation((String) descr, name, version);
-                     default -> throw new IllegalArgumentException(location.getProject().getName() + ": Unkown source " + source
-                           + " for package " + name);
-                  };
-
-                  final var dependencyType = (String) asNonNull(meta.get("dependency"));
-                  if (!depsNewlyResolved && !Files.exists(libLocation)) {
-                     resolveDependencies(monitor);
-                     depsNewlyResolved = true;
-                  }
-                  deps.add(new DartDependency(libLocation, name, version, dependencyType.contains("dev"), dependencyType.contains(
-                     "transitive")));
-               } catch (final Exception ex) {
-                  Dart4EPlugin.log().error(ex);
-                  UI.run(() -> new NotificationPopup(ex.getMessage()).open());
-               }
-            }
-         }
+      final List<LockedPackage> packages;
+      try (var reader = Files.newBufferedReader(getLockFile())) {
+         packages = PubspecLockReader.read(reader);
       } catch (final IOException ex) {
          throw new RuntimeIOException(ex);
       }
-      this.deps = deps;
+
+      final var lockedPackages = new ArrayList<LockedPackage>(packages.size());
+      final var candidateLocations = new ArrayList<List<java.nio.file.Path>>(packages.size());
+      for (final var pkg : packages) {
+         try {
+            candidateLocations.add(getCandidateLocations(pkg, pubCacheDir));
+            lockedPackages.add(pkg);
+         } catch (final Exception ex) {
+            hasErrors = true;
+            Dart4EPlugin.log().error(ex);
+            UI.run(() -> new NotificationPopup(ex.getMessage()).open());
+         }
+      }
+
+      /*
+       * locate the dependencies
+       */
+      monitor.setTaskName("Locating Dart libraries of [" + project.getName() + "]...");
+      final var prober = DependencyLocationProber.INSTANCE;
+      var locations = prober.probe(candidateLocations, pubCacheDir);
+      if (!depsNewlyResolved && locations.contains(null)) {
+         if (resolveDependencies(monitor)) {
+            DartDependencyCache.INSTANCE.putManifestHash(project, manifestHash);
+         } else {
+            hasErrors = true;
+         }
+         prober.invalidate(pubCacheDir);
+         locations = prober.probe(candidateLocations, pubCacheDir);
+      }
+
+      final var deps = new LinkedHashSet<DartDependency>();
+      for (int i = 0; i < lockedPackages.size(); i++) {
+         final var pkg = lockedPackages.get(i);
+         final var candidates = candidateLocations.get(i);
+         var libLocation = locations.get(i);
+         if (libLocation == null) {
+            libLocation = candidates.get(candidates.size() - 1);
+         }
+         deps.add(new DartDependency(libLocation, pkg.name(), pkg.version(), pkg.isDevDependency(), pkg.isTransitiveDependency()));
+      }
+
+      // only cache complete results so failed resolutions and packages that could not be located are retried next time
+      if (!hasErrors) {
+         DartDependencyCache.INSTANCE.put(project, DartDependencyCache.fingerprint(dartSDK, manifestHash, getLockFile()), deps);
+      }
       return deps;
    }
 
+   /**
+    * @return the possible locations of the given package in order of preference
+    */
+   protected List<java.nio.file.Path> getCandidateLocations(final LockedPackage pkg, final java.nio.file.Path pubCacheDir) {
+      final var name = pkg.name();
+      final var source = pkg.source();
+      final var version = pkg.version();
+      return switch (source) {
+         case "hosted" -> {
+            final var url = URI.create(asNonNull(pkg.url()));
+            yield List.of(pubCacheDir.resolve(source).resolve(url.getHost()).resolve(name + "-" + version));
+         }
+         case "git" -> {
+            final var resolvedRef = pkg.resolvedRef();
+            final var gitUrl = asNonNull(pkg.url());
+            var repoName = Strings.substringAfterLast(gitUrl, "/");
+            repoName = Strings.removeEnd(repoName, ".git");
+            yield List.of( //
+               pubCacheDir.resolve(source).resolve(name + "-" + resolvedRef), //
+               pubCacheDir.resolve(source).resolve(repoName + "-" + resolvedRef));
+         }
+         case "path" -> {
+            final var path = asNonNull(pkg.path());
+            yield List.of(pkg.relative() //
+                  ? getResolutionRoot().resolve(path).normalize() // relative to the lock file's directory
+                  : Paths.get(path));
+         }
+         case "sdk" -> List.of(getSDKDependencyLocation(asNonNull(pkg.description()), name, version));
+         default -> throw new IllegalArgumentException(location.getProject().getName() + ": Unkown source " + source + " for package "
+               + name);
+      };
+   }
+
+   /**
+    * Computes a hash over the sections of the <code>pubspec.yaml</code> (and <code>pubspec_overrides.yaml</code>) that affect
+    * dependency resolution, so formatting changes, comments or edits to unrelated sections do not invalidate the lock file.
+    *
+    * @return an empty string if the hash cannot be computed
+    */
+   protected String computeManifestHash() {
+      try {
+         final var canonicalManifest = new TreeMap<String, @Nullable Object>();
+         final var packageRoot = Resources.toAbsolutePath(getProject());
+         addDependencyRelevantSections(canonicalManifest, "", packageRoot.resolve(Constants.PUBSPEC_YAML_FILENAME));
+         addOverrides(canonicalManifest, "", packageRoot);
+
+         // members of a pub workspace are resolved together with the workspace root
+         final var workspaceRoot = getPubWorkspaceRoot();
+         if (workspaceRoot != null) {
+            addDependencyRelevantSections(canonicalManifest, "workspace:", workspaceRoot.resolve(Constants.PUBSPEC_YAML_FILENAME));
+            addOverrides(canonicalManifest, "workspace:", workspaceRoot);
+         }
+
+         final var digest = MessageDigest.getInstance("SHA-256");
+         return HexFormat.of().formatHex(digest.digest(canonicalManifest.toString().getBytes(StandardCharsets.UTF_8)));
+      } catch (final Exception ex) {
+         Dart4EPlugin.log().error(ex, "Failed to compute hash of " + location);
+         return "";
+      }
+   }
+
+   private static void addDependencyRelevantSections(final Map<String, @Nullable Object> canonicalManifest, final String keyPrefix,
+         final java.nio.file.Path pubspecFile) throws IOException {
+      try (var reader = Files.newBufferedReader(pubspecFile)) {
+         final Map<?, ?> yaml = new Yaml().loadAs(reader, Map.class);
+         if (yaml != null) {
+            for (final var section : DEPENDENCY_RELEVANT_SECTIONS) {
+               canonicalManifest.put(keyPrefix + section, canonicalize(yaml.get(section)));
+            }
+         }
+      }
+   }
+
+   private static void addOverrides(final Map<String, @Nullable Object> canonicalManifest, final String keyPrefix,
+         final java.nio.file.Path packageRoot) throws IOException {
+      final var overridesFile = packageRoot.resolve(Constants.PUBSPEC_OVERRIDES_YAML_FILENAME);
+      if (Files.isRegularFile(overridesFile)) {
+         try (var reader = Files.newBufferedReader(overridesFile)) {
+            canonicalManifest.put(keyPrefix + Constants.PUBSPEC_OVERRIDES_YAML_FILENAME, canonicalize(new Yaml().load(reader)));
+         }
+      }
+   }
+
+   /**
+    * Converts the given YAML value into a representation with a stable {@link Object#toString()} independent of key order.
+    */
+   private static @Nullable Object canonicalize(final @Nullable Object yamlValue) {
+      if (yamlValue instanceof final Map<?, ?> map) {
+         final var sorted = new TreeMap<String, @Nullable Object>();
+         map.forEach((k, v) -> sorted.put(String.valueOf(k), canonicalize(v)));
+         return sorted;
+      }
+      if (yamlValue instanceof final List<?> list)
+         return list.stream().map(DartBuildFile::canonicalize).toList();
+      return yamlValue;
+   }
+
    protected java.nio.file.Path getSDKDependencyLocation(final String sdkName, final String pkgName,
          @SuppressWarnings("unused") final String pkgVersion) {
       if (!"dart".equals(sdkName))
@@ -193,8 +338,27 @@ public List<IPath> getExecutables() {
       return result;
    }
 
-   protected IFile getLockFile() {
-      return getProject().getFile(Constants.PUBSPEC_LOCK_FILENAME);
+   /**
+    * @return the <code>pubspec.lock</code> file, which is located in the workspace root for members of a pub workspace
+    */
+   protected java.nio.file.Path getLockFile() {
+      return getResolutionRoot().resolve(Constants.PUBSPEC_LOCK_FILENAME);
+   }
+
+   /**
+    * @return the root directory of the pub workspace (see https://dart.dev/tools/pub/workspaces) this package is a member of or
+    *         null if the package is resolved on its own
+    */
+   public java.nio.file.@Nullable Path getPubWorkspaceRoot() {
+      return pubWorkspaceRoot.get();
+   }
+
+   /**
+    * @return the directory <code>pub get</code> has to be executed in, i.e. the pub workspace root or the project directory
+    */
+   protected java.nio.file.Path getResolutionRoot() {
+      final var workspaceRoot = getPubWorkspaceRoot();
+      return workspaceRoot == null ? Resources.toAbsolutePath(getProject()) : workspaceRoot;
    }
 
    @Override
@@ -219,17 +383,122 @@ private boolean hasMainMethod(final IFile dartFile) {
       return false;
    }
 
-   protected boolean isLockFileUpToDate() {
+   /**
+    * Checks whether the <code>.dart_tool/package_config.json</code> generated by <code>pub get</code> exists and all package roots
+    * referenced by it are present, e.g. were not removed by cleaning the pub cache.
+    */
+   protected boolean isPackageConfigValid() {
+      final var packageConfigFile = getResolutionRoot().resolve(Constants.PACKAGE_CONFIG_FILEPATH);
+      if (!Files.isRegularFile(packageConfigFile))
+         return false;
+
+      try (var in = Files.newInputStream(packageConfigFile)) {
+         final Map<String, Object> packageConfig = JSON.deserialize(in, new TypeReference<Map<String, Object>>() {});
+         if (!(packageConfig.get("packages") instanceof final List<?> packages))
+            return false;
+
+         final var packageConfigDirUri = asNonNull(packageConfigFile.getParent()).toUri();
+         for (final var pkg : packages) {
+            if (pkg instanceof final Map<?, ?> pkgMap && pkgMap.get("rootUri") instanceof final String rootUri) {
+               final var resolvedRootUri = packageConfigDirUri.resolve(rootUri);
+               if ("file".equals(resolvedRootUri.getScheme()) && !Files.isDirectory(Paths.get(resolvedRootUri)))
+                  return false;
+            }
+         }
+         return true;
+      } catch (final Exception ex) {
+         Dart4EPlugin.log().debug("Invalid package config {0}: {1}", packageConfigFile, ex.getMessage());
+         return false;
+      }
+   }
+
+   /**
+    * @param manifestHash the current hash computed by {@link #computeManifestHash()}
+    */
+   protected boolean isLockFileUpToDate(final String manifestHash) {
       final var lockFile = getLockFile();
-      return lockFile.exists() && Resources.lastModified(lockFile) > Resources.lastModified(location);
+      if (!Files.isRegularFile(lockFile) || !isPackageConfigValid())
+         return false;
+
+      final var project = getProject();
+      final var recordedManifestHash = DartDependencyCache.INSTANCE.getManifestHash(project);
+      if (recordedManifestHash != null && !manifestHash.isEmpty())
+         return recordedManifestHash.equals(manifestHash);
+
+      // no successful resolution recorded yet, fall back to comparing the modification times
+      try {
+         return Files.getLastModifiedTime(lockFile).toMillis() > Resources.lastModified(location);
+      } catch (final IOException ex) {
+         Dart4EPlugin.log().error(ex);
+         return false;
+      }
    }
 
-   protected void resolveDependencies(final IProgressMonitor monitor) {
+   /**
+    * @return true if the dependencies were resolved successfully
+    */
+   protected boolean resolveDependencies(final IProgressMonitor monitor) {
       final var project = getProject();
+      final var workspaceRoot = getPubWorkspaceRoot();
       try {
-         DartConsole.runWithConsole(monitor, "Resolving dependencies of [" + project.getName() + "]...", project, "pub", "get");
+         if (workspaceRoot == null)
+            return runPubGet(monitor, "Resolving dependencies of [" + project.getName() + "]...", null);
+
+         final long requestedAt = System.nanoTime();
+         final var lastResolvedAt = WORKSPACE_RESOLUTIONS.computeIfAbsent(workspaceRoot, root -> new AtomicLong(requestedAt - 1));
+         synchronized (lastResolvedAt) {
+            // another member of the workspace may have started resolving the shared dependencies after our request
+            if (lastResolvedAt.get() - requestedAt > 0)
+               return true;
+
+            /*
+             * the shared resolution also covers the other workspace members, their manifest hashes are taken before running
+             * "pub get" so edits made while it is running are not considered resolved
+             */
+            final var memberManifestHashes = new LinkedHashMap<IProject, String>();
+            for (final var member : BuildSystem.getPubWorkspaceProjects(workspaceRoot)) {
+               if (!member.equals(project)) {
+                  memberManifestHashes.put(member, BuildFile.of(member) instanceof final DartBuildFile memberBuildFile
+                        ? memberBuildFile.computeManifestHash()
+                        : "");
+               }
+            }
+
+            final long startedAt = System.nanoTime();
+            if (!runPubGet(monitor, "Resolving dependencies of pub workspace [" + workspaceRoot + "]...", workspaceRoot))
+               return false;
+            lastResolvedAt.set(startedAt);
+
+            // record the members' hashes so they only need to re-read the lock file instead of running "pub get" themselves
+            memberManifestHashes.forEach((member, memberManifestHash) -> {
+               if (!memberManifestHash.isEmpty()) {
+                  DartDependencyCache.INSTANCE.putManifestHash(member, memberManifestHash);
+               }
+            });
+            for (final var member : memberManifestHashes.keySet()) {
+               WORKSPACE_MEMBER_RESOLVED_EVENTS.fire(member);
+            }
+         }
       } catch (final CoreException ex) {
          throw new RuntimeException(ex);
       }
+      return true;
+   }
+
+   /**
+    * Runs <code>pub get</code>.
+    *
+    * @param workdir the directory to run <code>pub get</code> in, if null the project directory is used
+    * @return true if <code>pub get</code> completed successfully, false if it failed or was aborted
+    */
+   protected boolean runPubGet(final IProgressMonitor monitor, final String headLine, final java.nio.file.@Nullable Path workdir)
+         throws CoreException {
+      if (workdir == null)
+         return DartConsole.runWithConsole(monitor, headLine, getProject(), "pub", "get");
+
+      final var dartSDK = DartProjectPreference.get(getProject()).getEffectiveDartSDK();
+      if (dartSDK == null)
+         throw new IllegalStateException(location.getProject().getName() + ": No Dart SDK found!");
+      return DartConsole.runWithConsole(monitor, headLine, dartSDK, workdir, "pub", "get");
    }
 }
@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model.buildsystem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.model.DartDependency;
+import org.dart4e.model.DartSDK;
+import org.dart4e.util.io.PersistentJsonFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Workspace-wide cache of the dependencies resolved from the projects' <code>pubspec.lock</code> files.
+ * <p>
+ * Entries are keyed by project name and are only considered valid as long as the fingerprint of the project's
+ * <code>pubspec.yaml</code>/<code>pubspec.lock</code> and the effective Dart SDK did not change. The cache is persisted in the
+ * plugin's state location so unchanged projects neither need to parse the lock file nor probe the pub cache after an IDE restart.
+ * <p>
+ * Additionally the hash of the dependency relevant <code>pubspec.yaml</code> sections the lock file was last resolved for is
+ * recorded, so touching the manifest without changing its dependencies does not require another <code>pub get</code>.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DartDependencyCache {
+
+   record CachedDependency(String location, String name, String version, boolean dev, boolean transitive) {
+
+      static CachedDependency of(final DartDependency dep) {
+         return new CachedDependency(dep.location.toString(), dep.name, dep.version, dep.isDevDependency, dep.isTransitiveDependency);
+      }
+
+      DartDependency toDartDependency() {
+         return new DartDependency(Paths.get(location), name, version, dev, transitive);
+      }
+   }
+
+   /**
+    * @param manifestHash hash of the dependency relevant sections of the <code>pubspec.yaml</code> the <code>pubspec.lock</code> was
+    *           last resolved for
+    * @param fingerprint fingerprint the cached dependencies were resolved for
+    */
+   record Entry(@Nullable String manifestHash, @Nullable String fingerprint, List<CachedDependency> dependencies) {
+   }
+
+   public static final DartDependencyCache INSTANCE = new DartDependencyCache();
+
+   /**
+    * Computes a fingerprint over the manifest hash, the content of the given files and the location of the given Dart SDK and its
+    * pub cache.
+    */
+   static String fingerprint(final DartSDK dartSDK, final String manifestHash, final Path... files) {
+      try {
+         final var digest = MessageDigest.getInstance("SHA-256");
+         digest.update(dartSDK.getInstallRoot().toString().getBytes(StandardCharsets.UTF_8));
+         digest.update((byte) 0);
+         digest.update(dartSDK.getPubCacheDir().toString().getBytes(StandardCharsets.UTF_8));
+         digest.update((byte) 0);
+         digest.update(manifestHash.getBytes(StandardCharsets.UTF_8));
+         for (final var file : files) {
+            digest.update((byte) 0);
+            if (Files.exists(file)) {
+               digest.update(Files.readAllBytes(file));
+            }
+         }
+         return HexFormat.of().formatHex(digest.digest());
+      } catch (final IOException | NoSuchAlgorithmException ex) {
+         Dart4EPlugin.log().error(ex);
+         return ""; // never matches a cached fingerprint
+      }
+   }
+
+   private final PersistentJsonFile<Map<String, Entry>> cacheFile = new PersistentJsonFile<>("dependency-cache.json",
+      "Dart dependency cache", new TypeReference<Map<String, Entry>>() {});
+   private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+   private volatile boolean isLoaded;
+
+   private final Job saveJob = new Job("Saving Dart dependency cache...") {
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         save();
+         return Status.OK_STATUS;
+      }
+   };
+
+   private DartDependencyCache() {
+      saveJob.setSystem(true);
+   }
+
+   private void ensureLoaded() {
+      if (isLoaded)
+         return;
+
+      synchronized (entries) {
+         if (isLoaded)
+            return;
+         isLoaded = true;
+
+         final var loaded = cacheFile.load();
+         if (loaded == null)
+            return;
+
+         final var root = ResourcesPlugin.getWorkspace().getRoot();
+         loaded.forEach((projectName, entry) -> {
+            // drop entries of projects that were deleted in the meantime
+            if (root.getProject(projectName).exists()) {
+               entries.putIfAbsent(projectName, entry);
+            }
+         });
+      }
+   }
+
+   /**
+    * @return null if no cache entry exists for the given project or if the cached entry was created for a different fingerprint
+    */
+   public @Nullable Set<DartDependency> get(final IProject project, final String fingerprint) {
+      ensureLoaded();
+
+      final var entry = entries.get(project.getName());
+      if (entry == null || fingerprint.isEmpty() || !fingerprint.equals(entry.fingerprint))
+         return null;
+
+      final var deps = new LinkedHashSet<DartDependency>();
+      for (final var dep : entry.dependencies) {
+         deps.add(dep.toDartDependency());
+      }
+      return deps;
+   }
+
+   /**
+    * @return the manifest hash recorded by {@link #putManifestHash(IProject, String)} or null if none was recorded yet
+    */
+   public @Nullable String getManifestHash(final IProject project) {
+      ensureLoaded();
+
+      final var entry = entries.get(project.getName());
+      return entry == null ? null : entry.manifestHash;
+   }
+
+   public void invalidate(final IProject project) {
+      ensureLoaded();
+
+      if (entries.remove(project.getName()) != null) {
+         saveJob.schedule(5_000);
+      }
+   }
+
+   public void put(final IProject project, final String fingerprint, final Collection<DartDependency> deps) {
+      if (fingerprint.isEmpty())
+         return;
+
+      ensureLoaded();
+
+      final var cachedDeps = deps.stream().map(CachedDependency::of).toList();
+      entries.compute(project.getName(), (name, entry) -> new Entry(entry == null ? null : entry.manifestHash, fingerprint, cachedDeps));
+      saveJob.schedule(5_000);
+   }
+
+   /**
+    * Records the hash of the dependency relevant sections of the project's <code>pubspec.yaml</code> the <code>pubspec.lock</code> is
+    * in sync with.
+    */
+   public void putManifestHash(final IProject project, final String manifestHash) {
+      if (manifestHash.isEmpty())
+         return;
+
+      ensureLoaded();
+
+      final var oldEntry = entries.get(project.getName());
+      if (oldEntry != null && manifestHash.equals(oldEntry.manifestHash))
+         return;
+
+      entries.compute(project.getName(), (name, entry) -> entry == null //
+            ? new Entry(manifestHash, null, List.of())
+            : new Entry(manifestHash, entry.fingerprint, entry.dependencies));
+      saveJob.schedule(5_000);
+   }
+
+   /**
+    * Persists the cache to the plugin's state location.
+    */
+   public void save() {
+      if (isLoaded) {
+         cacheFile.save(entries);
+      }
+   }
+}
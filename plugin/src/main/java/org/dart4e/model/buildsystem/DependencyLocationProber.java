@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model.buildsystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.util.DaemonThreadFactory;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Checks the existence of resolved dependency locations in parallel.
+ * <p>
+ * Locations inside the pub cache are looked up in short-lived cached listings of their parent directories (e.g.
+ * <code>hosted/pub.dev</code> or <code>git</code>), so resolving hundreds of packages requires only a few directory reads instead of
+ * one file system access per package, which matters on network home directories or WSL mounts.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DependencyLocationProber {
+
+   private record Listing(Set<String> entries, long loadedAt) {
+   }
+
+   public static final DependencyLocationProber INSTANCE = new DependencyLocationProber();
+
+   private static final long LISTING_TTL_MS = 10_000;
+   private static final int MAX_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+   private final Map<Path, Listing> listings = new ConcurrentHashMap<>();
+   private final ThreadPoolExecutor executor;
+
+   private DependencyLocationProber() {
+      executor = DaemonThreadFactory.newThreadPool("dart4e-dependency-prober", MAX_THREADS);
+   }
+
+   /**
+    * Stops accepting new probes, already queued probes are still completed so waiting callers are not blocked forever.
+    */
+   public void dispose() {
+      executor.shutdown();
+   }
+
+   private boolean exists(final Path location, final Path pubCacheDir) {
+      final var parent = location.getParent();
+      if (parent == null || !location.startsWith(pubCacheDir))
+         return Files.exists(location);
+
+      final var fileName = location.getFileName();
+      return fileName != null && getListing(parent).contains(fileName.toString());
+   }
+
+   private Set<String> getListing(final Path dir) {
+      // compute() ensures a directory is only listed once even if probed by multiple threads concurrently
+      return listings.compute(dir, (key, cached) -> {
+         final var now = System.currentTimeMillis();
+         if (cached != null && now - cached.loadedAt < LISTING_TTL_MS)
+            return cached;
+
+         try (var files = Files.list(dir)) {
+            return new Listing(files.map(f -> String.valueOf(f.getFileName())).collect(Collectors.toUnmodifiableSet()), now);
+         } catch (final NoSuchFileException | NotDirectoryException ex) {
+            return new Listing(Set.of(), now);
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().debug("Failed to list {0}: {1}", dir, ex.getMessage());
+            return new Listing(Set.of(), now);
+         }
+      }).entries;
+   }
+
+   /**
+    * Drops all cached directory listings below the given directory, e.g. after <code>pub get</code> populated the pub cache.
+    */
+   void invalidate(final Path dir) {
+      listings.keySet().removeIf(p -> p.startsWith(dir));
+   }
+
+   /**
+    * Probes the candidate locations of multiple packages in parallel.
+    *
+    * @param candidatesPerPackage for each package the possible locations in order of preference
+    * @return for each package the first existing candidate location or null if none exists
+    */
+   List<@Nullable Path> probe(final List<List<Path>> candidatesPerPackage, final Path pubCacheDir) {
+      final var futures = new ArrayList<CompletableFuture<@Nullable Path>>(candidatesPerPackage.size());
+      for (final var candidates : candidatesPerPackage) {
+         futures.add(CompletableFuture.supplyAsync(() -> {
+            for (final var candidate : candidates) {
+               if (exists(candidate, pubCacheDir))
+                  return candidate;
+            }
+            return null;
+         }, executor));
+      }
+
+      final var result = new ArrayList<@Nullable Path>(futures.size());
+      for (final var future : futures) {
+         result.add(future.join());
+      }
+      return result;
+   }
+}
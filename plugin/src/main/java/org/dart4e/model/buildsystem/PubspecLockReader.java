@@ -0,0 +1,219 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.model.buildsystem;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+/**
+ * Event based reader for the <code>packages</code> section of <code>pubspec.lock</code> files.
+ * <p>
+ * Compared to loading the whole file into nested maps only the attributes required to locate a package are kept and all other
+ * sections (e.g. <code>sdks</code>, <code>sha256</code> checksums) are skipped without being materialized.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class PubspecLockReader {
+
+   /**
+    * @param description the description if it is a plain string, e.g. the SDK name of packages with source <code>sdk</code>
+    */
+   public record LockedPackage( //
+         String name, //
+         String dependency, //
+         String source, //
+         String version, //
+         @Nullable String description, //
+         @Nullable String url, //
+         @Nullable String path, //
+         boolean relative, //
+         @Nullable String resolvedRef) {
+
+      public boolean isDevDependency() {
+         return dependency.contains("dev");
+      }
+
+      public boolean isTransitiveDependency() {
+         return dependency.contains("transitive");
+      }
+   }
+
+   private static final class PackageBuilder {
+      final String name;
+      String dependency = "";
+      String source = "";
+      String version = "";
+      @Nullable String description;
+      @Nullable String url;
+      @Nullable String path;
+      boolean relative;
+      @Nullable String resolvedRef;
+
+      PackageBuilder(final String name) {
+         this.name = name;
+      }
+
+      LockedPackage build() {
+         return new LockedPackage(name, dependency, source, version, description, url, path, relative, resolvedRef);
+      }
+   }
+
+   /**
+    * @return the packages in the order they are listed in the lock file
+    */
+   public static List<LockedPackage> read(final Reader reader) {
+      final var result = new ArrayList<LockedPackage>();
+      final var events = new Yaml().parse(reader).iterator();
+      while (events.hasNext()) {
+         if (events.next() instanceof MappingStartEvent) {
+            readRoot(events, result);
+            break;
+         }
+      }
+      return result;
+   }
+
+   private static void readDescription(final Iterator<Event> events, final PackageBuilder pkg) {
+      final var event = events.next();
+      if (event instanceof final ScalarEvent scalar) {
+         pkg.description = scalar.getValue();
+         return;
+      }
+      if (!(event instanceof MappingStartEvent)) {
+         skipCollection(event, events);
+         return;
+      }
+
+      while (true) {
+         final var key = events.next();
+         if (key instanceof MappingEndEvent)
+            return;
+         if (!(key instanceof final ScalarEvent keyScalar)) {
+            skipCollection(key, events);
+            skipValue(events);
+            continue;
+         }
+         switch (keyScalar.getValue()) {
+            case "url" -> pkg.url = readScalar(events);
+            case "path" -> pkg.path = readScalar(events);
+            case "relative" -> pkg.relative = Boolean.parseBoolean(readScalar(events));
+            case "resolved-ref" -> pkg.resolvedRef = readScalar(events);
+            default -> skipValue(events);
+         }
+      }
+   }
+
+   private static void readPackage(final Iterator<Event> events, final String name, final List<LockedPackage> result) {
+      final var event = events.next();
+      if (!(event instanceof MappingStartEvent)) {
+         skipCollection(event, events);
+         return;
+      }
+
+      final var pkg = new PackageBuilder(name);
+      while (true) {
+         final var key = events.next();
+         if (key instanceof MappingEndEvent) {
+            result.add(pkg.build());
+            return;
+         }
+         if (!(key instanceof final ScalarEvent keyScalar)) {
+            skipCollection(key, events);
+            skipValue(events);
+            continue;
+         }
+         switch (keyScalar.getValue()) {
+            case "dependency" -> pkg.dependency = readScalar(events);
+            case "source" -> pkg.source = readScalar(events);
+            case "version" -> pkg.version = readScalar(events);
+            case "description" -> readDescription(events, pkg);
+            default -> skipValue(events);
+         }
+      }
+   }
+
+   private static void readPackages(final Iterator<Event> events, final List<LockedPackage> result) {
+      final var event = events.next();
+      if (!(event instanceof MappingStartEvent)) {
+         skipCollection(event, events);
+         return;
+      }
+
+      while (true) {
+         final var key = events.next();
+         if (key instanceof MappingEndEvent)
+            return;
+         if (key instanceof final ScalarEvent keyScalar) {
+            readPackage(events, keyScalar.getValue(), result);
+         } else {
+            skipCollection(key, events);
+            skipValue(events);
+         }
+      }
+   }
+
+   private static void readRoot(final Iterator<Event> events, final List<LockedPackage> result) {
+      while (events.hasNext()) {
+         final var key = events.next();
+         if (key instanceof MappingEndEvent)
+            return;
+         if (key instanceof final ScalarEvent keyScalar && "packages".equals(keyScalar.getValue())) {
+            readPackages(events, result);
+         } else {
+            skipCollection(key, events);
+            skipValue(events);
+         }
+      }
+   }
+
+   /**
+    * @return the value of the next scalar event or an empty string if the next value is not a scalar
+    */
+   private static String readScalar(final Iterator<Event> events) {
+      final var event = events.next();
+      if (event instanceof final ScalarEvent scalar)
+         return scalar.getValue();
+      skipCollection(event, events);
+      return "";
+   }
+
+   /**
+    * If the given event starts a mapping or sequence, consumes all events up to and including the matching end event.
+    */
+   private static void skipCollection(final Event event, final Iterator<Event> events) {
+      if (!(event instanceof CollectionStartEvent))
+         return;
+
+      int depth = 1;
+      while (depth > 0) {
+         final var next = events.next();
+         if (next instanceof CollectionStartEvent) {
+            depth++;
+         } else if (next instanceof CollectionEndEvent) {
+            depth--;
+         }
+      }
+   }
+
+   private static void skipValue(final Iterator<Event> events) {
+      skipCollection(events.next(), events);
+   }
+
+   private PubspecLockReader() {
+   }
+}
@@ -6,10 +6,21 @@
  */
 package org.dart4e.navigation;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.dart4e.Dart4EPlugin;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.ide.ResourceUtil;
 
 import de.sebthom.eclipse.commons.ui.UI;
+import net.sf.jstuff.core.event.AsyncEventDispatcher;
+import net.sf.jstuff.core.event.EventListener;
 
 /**
  * @author Sebastian Thomschke
@@ -17,10 +28,53 @@
 public final class ActiveEditorChangeListener implements IPartListener2 {
    public static final ActiveEditorChangeListener INSTANCE = new ActiveEditorChangeListener();
 
+   private final AsyncEventDispatcher<IEditorReference> editorsChangedEvents = new AsyncEventDispatcher<>();
+
+   /**
+    * snapshot of the projects with open editors, only updated on the UI thread so it can be read from any thread (e.g. the LSP4J
+    * dispatcher thread) without synchronizing with the UI thread
+    */
+   private volatile Set<IProject> projectsWithOpenEditors = Set.of();
+
    public void attach() {
       for (final var window : UI.getWorkbench().getWorkbenchWindows()) {
          window.getPartService().addPartListener(this);
       }
+      UI.run(() -> updateProjectsWithOpenEditors(null));
+   }
+
+   /**
+    * @return the projects of all workspace files currently opened in an editor of any workbench window
+    */
+   public Set<IProject> getProjectsWithOpenEditors() {
+      return projectsWithOpenEditors;
+   }
+
+   /**
+    * Must be invoked on the UI thread.
+    *
+    * @param closedEditor an editor that is being closed and must not be considered anymore
+    */
+   private void updateProjectsWithOpenEditors(final @Nullable IEditorReference closedEditor) {
+      final var projects = new HashSet<IProject>();
+      for (final var window : UI.getWorkbench().getWorkbenchWindows()) {
+         for (final var page : window.getPages()) {
+            for (final var editorRef : page.getEditorReferences()) {
+               if (editorRef == closedEditor) {
+                  continue;
+               }
+               try {
+                  final var file = ResourceUtil.getFile(editorRef.getEditorInput());
+                  if (file != null) {
+                     projects.add(file.getProject());
+                  }
+               } catch (final PartInitException ex) {
+                  Dart4EPlugin.log().error(ex);
+               }
+            }
+         }
+      }
+      projectsWithOpenEditors = Set.copyOf(projects);
    }
 
    public void detach() {
@@ -29,8 +83,39 @@ public void detach() {
       }
    }
 
+   /**
+    * @param listener notified asynchronously whenever an editor is opened or closed
+    */
+   public boolean onEditorOpenedOrClosed(final EventListener<IEditorReference> listener) {
+      return editorsChangedEvents.subscribe(listener);
+   }
+
    @Override
    public void partBroughtToTop(final IWorkbenchPartReference partRef) {
       // do interesting stuff
    }
+
+   @Override
+   public void partClosed(final IWorkbenchPartReference partRef) {
+      if (partRef instanceof final IEditorReference editorRef) {
+         updateProjectsWithOpenEditors(editorRef);
+         editorsChangedEvents.fire(editorRef);
+      }
+   }
+
+   @Override
+   public void partInputChanged(final IWorkbenchPartReference partRef) {
+      if (partRef instanceof final IEditorReference editorRef) {
+         updateProjectsWithOpenEditors(null);
+         editorsChangedEvents.fire(editorRef);
+      }
+   }
+
+   @Override
+   public void partOpened(final IWorkbenchPartReference partRef) {
+      if (partRef instanceof final IEditorReference editorRef) {
+         updateProjectsWithOpenEditors(null);
+         editorsChangedEvents.fire(editorRef);
+      }
+   }
 }
@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.navigation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.prefs.DartWorkspacePreference;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Schedules 'Dart Dependencies' updates of projects using a bounded number of worker jobs.
+ * <p>
+ * Requests for a project that is already queued are coalesced into the pending request. Requests for a project whose update is
+ * currently running are queued and executed once the running update finished. Prioritized projects (e.g. projects with open
+ * editors) are put at the head of the queue.
+ *
+ * @author Sebastian Thomschke
+ */
+final class DartDependenciesUpdateScheduler {
+
+   private final class Worker extends Job {
+
+      Worker() {
+         super("Updating 'Dart Dependencies'...");
+         setPriority(Job.BUILD);
+      }
+
+      @Override
+      protected IStatus run(final IProgressMonitor monitor) {
+         while (true) {
+            final IProject project;
+            final CompletableFuture<@Nullable Void> onDone;
+            synchronized (DartDependenciesUpdateScheduler.this) {
+               if (monitor.isCanceled()) {
+                  activeWorkers--;
+                  cancelQueued();
+                  return Status.CANCEL_STATUS;
+               }
+
+               project = pollNextProject();
+               if (project == null) {
+                  activeWorkers--;
+                  return Status.OK_STATUS;
+               }
+               onDone = pendingByProject.remove(project);
+               inProgress.add(project);
+            }
+
+            try {
+               monitor.setTaskName("Updating 'Dart Dependencies' list of project '" + project.getName() + "'...");
+               final var jobManager = Job.getJobManager();
+               jobManager.beginRule(project, monitor); // synchronize execution on project
+               try {
+                  final var status = updater.apply(project, monitor);
+                  if (!status.isOK() && status.getSeverity() != IStatus.CANCEL) {
+                     Dart4EPlugin.get().getLog().log(status);
+                  }
+               } finally {
+                  jobManager.endRule(project);
+               }
+            } catch (final Exception ex) {
+               Dart4EPlugin.log().error(ex);
+            } finally {
+               synchronized (DartDependenciesUpdateScheduler.this) {
+                  inProgress.remove(project);
+               }
+               if (onDone != null) {
+                  onDone.complete(null);
+               }
+            }
+         }
+      }
+   }
+
+   private final BiFunction<IProject, IProgressMonitor, IStatus> updater;
+
+   private final ArrayDeque<IProject> queue = new ArrayDeque<>();
+   private final Map<IProject, CompletableFuture<@Nullable Void>> pendingByProject = new HashMap<>();
+   private final Set<IProject> inProgress = new HashSet<>();
+   private int activeWorkers;
+
+   DartDependenciesUpdateScheduler(final BiFunction<IProject, IProgressMonitor, IStatus> updater) {
+      this.updater = updater;
+   }
+
+   private void cancelQueued() {
+      queue.clear();
+      pendingByProject.values().forEach(onDone -> onDone.cancel(false));
+      pendingByProject.clear();
+   }
+
+   private @Nullable IProject pollNextProject() {
+      for (final var it = queue.iterator(); it.hasNext();) {
+         final var project = it.next();
+         // projects currently being updated by another worker are picked up again once that update is done
+         if (!inProgress.contains(project)) {
+            it.remove();
+            return project;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @param prioritized projects that shall be updated before all other queued projects
+    *
+    * @return a future that completes once the updates of all given projects are done
+    */
+   synchronized CompletableFuture<Void> schedule(final Collection<IProject> projects, final Set<IProject> prioritized) {
+      final var futures = new ArrayList<CompletableFuture<@Nullable Void>>(projects.size());
+      final List<IProject> prioritizedInOrder = new ArrayList<>();
+      for (final var project : projects) {
+         var onDone = pendingByProject.get(project);
+         if (onDone == null) {
+            onDone = new CompletableFuture<>();
+            pendingByProject.put(project, onDone);
+            if (!prioritized.contains(project)) {
+               queue.addLast(project);
+            }
+         } else if (prioritized.contains(project)) {
+            queue.remove(project);
+         }
+         if (prioritized.contains(project)) {
+            prioritizedInOrder.add(project);
+         }
+         futures.add(onDone);
+      }
+
+      for (int i = prioritizedInOrder.size() - 1; i >= 0; i--) {
+         queue.addFirst(prioritizedInOrder.get(i));
+      }
+
+      final var maxWorkers = Math.max(1, DartWorkspacePreference.getDependenciesUpdateMaxConcurrency());
+      while (activeWorkers < maxWorkers && activeWorkers < queue.size()) {
+         activeWorkers++;
+         new Worker().schedule();
+      }
+
+      return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+   }
+}
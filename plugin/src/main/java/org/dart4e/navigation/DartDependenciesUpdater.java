@@ -6,70 +6,100 @@
  */
 package org.dart4e.navigation;
 
-import static net.sf.jstuff.core.validation.NullAnalysisHelper.*;
-
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.dart4e.Constants;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.model.DartDependency;
+import org.dart4e.model.DartDependencyDiff;
 import org.dart4e.model.buildsystem.BuildFile;
+import org.dart4e.model.buildsystem.BuildSystem;
+import org.dart4e.model.buildsystem.DartBuildFile;
 import org.dart4e.prefs.DartProjectPreference;
+import org.dart4e.project.AbstractDartProjectsChangedListener;
+import org.dart4e.project.DartProjectDelta;
 import org.dart4e.project.DartProjectNature;
-import org.dart4e.util.AbstractResourcesChangedListener;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceDelta;
-import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
 
-import de.sebthom.eclipse.commons.resources.Projects;
+import de.sebthom.eclipse.commons.resources.Resources;
+import net.sf.jstuff.core.event.EventListener;
 
 /**
  * @author Sebastian Thomschke
  */
-public final class DartDependenciesUpdater extends AbstractResourcesChangedListener {
+public final class DartDependenciesUpdater extends AbstractDartProjectsChangedListener {
 
    public static final String STDLIB_MAGIC_FOLDER_NAME = "!!!dartstdlib";
    public static final String DEPS_MAGIC_FOLDER_NAME = "!!dartdeps";
 
    public static final DartDependenciesUpdater INSTANCE = new DartDependenciesUpdater();
 
+   /**
+    * the dependencies currently linked in the "Dart Dependencies" folder of each project, used to only apply the diff on updates
+    */
+   private final Map<IProject, Set<DartDependency>> linkedDepsByProject = new ConcurrentHashMap<>();
+
+   private final DartDependenciesUpdateScheduler scheduler = new DartDependenciesUpdateScheduler(this::updateProjectDependencies);
+
+   private final EventListener<IProject> onWorkspaceMemberResolved = this::onProjectConfigChanged;
+
    private DartDependenciesUpdater() {
    }
 
-   public void onProjectConfigChanged(final IProject project) {
+   /**
+    * @return the dependencies currently linked into the 'Dart Dependencies' folder of the given project, empty if not yet resolved
+    */
+   public Set<DartDependency> getLinkedDependencies(final IProject project) {
+      return linkedDepsByProject.getOrDefault(project, Set.of());
+   }
+
+   @Override
+   public void install() {
+      super.install();
+      DartBuildFile.subscribeToWorkspaceMemberResolved(onWorkspaceMemberResolved);
+   }
+
+   /**
+    * @return a future that completes once the 'Dart Dependencies' list of the given project is updated
+    */
+   public CompletableFuture<Void> onProjectConfigChanged(final IProject project) {
       if (!DartProjectNature.hasNature(project))
-         return; // ignore
+         return CompletableFuture.completedFuture(null); // ignore
 
-      final var job = new Job("Updating 'Dart Dependencies' list of project '" + project.getName() + "'...") {
-         @Override
-         protected IStatus run(final IProgressMonitor monitor) {
-            return updateProjectDependencies(project, monitor);
-         }
-      };
-      job.setRule(project); // synchronize job execution on project
-      job.setPriority(Job.BUILD);
-      job.schedule();
+      return scheduler.schedule(List.of(project), Collections.emptySet());
    }
 
-   public void onProjectsConfigChanged(final List<IProject> projects) {
-      for (final var project : projects) {
-         onProjectConfigChanged(project);
-      }
+   /**
+    * Updates the 'Dart Dependencies' lists of the given projects, projects with open editors first.
+    *
+    * @return a future that completes once the 'Dart Dependencies' lists of all given projects are updated
+    */
+   public CompletableFuture<Void> onProjectsConfigChanged(final List<IProject> projects) {
+      final var dartProjects = projects.stream().filter(DartProjectNature::hasNature).toList();
+      if (dartProjects.isEmpty())
+         return CompletableFuture.completedFuture(null);
+
+      return scheduler.schedule(dartProjects, ActiveEditorChangeListener.INSTANCE.getProjectsWithOpenEditors());
    }
 
    public void removeDependenciesFolder(final IProject project, final @Nullable IProgressMonitor monitor) throws CoreException {
+      linkedDepsByProject.remove(project);
       for (final var folderName : new String[] {STDLIB_MAGIC_FOLDER_NAME, DEPS_MAGIC_FOLDER_NAME}) {
          final var folder = project.getFolder(folderName);
          if (folder.exists() && (folder.isVirtual() || folder.isLinked())) {
@@ -79,55 +109,31 @@ public void removeDependenciesFolder(final IProject project, final @Nullable IPr
    }
 
    @Override
-   public void resourceChanged(final IResourceChangeEvent event) {
-      if (event.getType() != IResourceChangeEvent.POST_CHANGE)
-         return;
-
-      final var rootDelta = event.getDelta();
-      final var changedProjects = new HashSet<IProject>();
-      final IResourceDeltaVisitor visitor = delta -> {
-         final var resource = delta.getResource();
-         final var project = resource.getProject();
-         if (project == null) // e.g. Workspace Root
-            return true; // check children
-
-         if (!Projects.hasNature(project, DartProjectNature.NATURE_ID))
-            return false; // ignore children
-
-         // if the project was just opened update dependencies
-         if (resource == project && (delta.getFlags() & IResourceDelta.OPEN) != 0) {
-            changedProjects.add(project);
-            return false; // no need to check children
+   public void onDartProjectsChanged(final List<DartProjectDelta> deltas) {
+      for (final var delta : deltas) {
+         if (delta.isOpened() || delta.isPubspecChanged()) {
+            onProjectConfigChanged(delta.project());
          }
-
-         if ((delta.getFlags() & IResourceDelta.CONTENT) == 0)
-            return true; // check children
-
-         switch (delta.getKind()) {
-            case IResourceDelta.ADDED, IResourceDelta.CHANGED, IResourceDelta.REMOVED:
-               break;
-            default:
-               return true; // check children
-         }
-
-         if (resource.getType() != IResource.FILE)
-            return true; // check children
-
-         switch (resource.getName()) {
-            case Constants.PUBSPEC_YAML_FILENAME, Constants.PUBSPEC_LOCK_FILENAME -> changedProjects.add(project);
+         if (delta.isPubspecChanged()) {
+            // the members of a pub workspace share the pubspec.lock of the workspace root
+            final var members = BuildSystem.getPubWorkspaceProjects(Resources.toAbsolutePath(delta.project()));
+            if (!members.isEmpty()) {
+               onProjectsConfigChanged(members);
+            }
          }
-         return false; // no need to check children
-      };
-
-      try {
-         rootDelta.accept(visitor);
-      } catch (final CoreException ex) {
-         Dart4EPlugin.log().error(ex);
       }
+   }
 
-      for (final IProject p : changedProjects) {
-         onProjectConfigChanged(p);
-      }
+   @Override
+   public void uninstall() {
+      DartBuildFile.unsubscribeFromWorkspaceMemberResolved(onWorkspaceMemberResolved);
+      super.uninstall();
+   }
+
+   private static String toFolderName(final DartDependency dep) {
+      return dep.name //
+            + ("0.0.0".equals(dep.version) ? "" : " [" + dep.version + "]") //
+            + (dep.isDevDependency ? " (dev)" : "");
    }
 
    /**
@@ -141,76 +147,122 @@ private IStatus updateProjectDependencies(final IProject project, final IProgres
          if (sdk == null)
             return Dart4EPlugin.status().createError("Cannot update 'Dart Dependencies' list. Dart SDK cannot be found!");
 
+         final var stdLibFolder = project.getFolder(STDLIB_MAGIC_FOLDER_NAME);
+         if (stdLibFolder.exists() && !stdLibFolder.isLinked())
+            return Dart4EPlugin.status().createError("Cannot update Dart standard library folder. Physical folder with name '"
+                  + STDLIB_MAGIC_FOLDER_NAME + "' exists!");
+
+         final var depsFolder = project.getFolder(DEPS_MAGIC_FOLDER_NAME);
+         if (depsFolder.exists() && !depsFolder.isVirtual())
+            return Dart4EPlugin.status().createError("Cannot update 'Dart Dependencies' list. Physical folder with name '"
+                  + DEPS_MAGIC_FOLDER_NAME + "' exists!");
+
          /*
-          * create/update dart stdlib top-level virtual folder
+          * compute the required changes first, resolving the dependencies may run "pub get"
           */
-         final var stdLibFolder = project.getFolder(STDLIB_MAGIC_FOLDER_NAME);
-         if (stdLibFolder.exists()) {
-            if (!stdLibFolder.isLinked())
-               return Dart4EPlugin.status().createError("Cannot update Dart standard library folder. Physical folder with name '"
-                     + STDLIB_MAGIC_FOLDER_NAME + "' exists!");
-            if (!asNonNull(stdLibFolder.getLocation()).toFile().toPath().equals(sdk.getStandardLibDir())) {
-               stdLibFolder.createLink(sdk.getStandardLibDir().toUri(), IResource.REPLACE, monitor);
+         final var buildFile = BuildFile.of(project);
+         final Set<DartDependency> deps = buildFile == null ? Collections.emptySet() : buildFile.getDependencies(monitor);
+         final var depsToLink = new HashMap<String, DartDependency>();
+         final var foldersToDelete = new ArrayList<IResource>();
+
+         final var previouslyLinkedDeps = linkedDepsByProject.get(project);
+         if (buildFile != null && previouslyLinkedDeps != null && depsFolder.exists()) {
+            // only touch the links of added, removed or changed dependencies
+            final var diff = DartDependencyDiff.of(previouslyLinkedDeps, deps);
+            for (final var dep : diff.removed) {
+               foldersToDelete.add(depsFolder.getFolder(toFolderName(dep)));
+            }
+            for (final var change : diff.changed) {
+               foldersToDelete.add(depsFolder.getFolder(toFolderName(change.oldDependency())));
+               depsToLink.put(toFolderName(change.newDependency()), change.newDependency());
+            }
+            for (final var dep : diff.added) {
+               depsToLink.put(toFolderName(dep), dep);
+            }
+            // ignore links that no longer exist, e.g. because they were removed manually
+            foldersToDelete.removeIf(folder -> !folder.exists());
+         } else if (depsFolder.exists()) {
+            // full reconciliation against the existing folder links
+            for (final var dep : deps) {
+               depsToLink.put(toFolderName(dep), dep);
+            }
+            for (final IResource folder : depsFolder.members()) {
+               final var dep = depsToLink.get(folder.getName());
+               final IPath rawLoc = folder.getRawLocation();
+               if (dep != null && rawLoc != null && dep.location.equals(rawLoc.toFile().toPath())) {
+                  depsToLink.remove(folder.getName());
+               } else {
+                  foldersToDelete.add(folder); // delete broken folder link or folder link to (now) unused dependency
+               }
             }
          } else {
-            stdLibFolder.createLink(sdk.getStandardLibDir().toUri(), IResource.REPLACE, monitor);
-         }
-         if (!stdLibFolder.isDerived()) {
-            stdLibFolder.setDerived(true, monitor);
+            for (final var dep : deps) {
+               depsToLink.put(toFolderName(dep), dep);
+            }
          }
 
+         if (monitor.isCanceled())
+            return Status.CANCEL_STATUS;
+
          /*
-          * create/update "Dart Dependencies" top-level virtual folder
+          * apply all changes as a single workspace operation so only one resource delta is fired
           */
-         final var depsFolder = project.getFolder(DEPS_MAGIC_FOLDER_NAME);
-         final var buildFile = BuildFile.of(project);
+         final long startedAt = System.currentTimeMillis();
+         final var linksAdded = new MutableInt();
+         final var linksRemoved = new MutableInt();
+         ResourcesPlugin.getWorkspace().run(m -> {
+            /*
+             * create/update dart stdlib top-level virtual folder
+             */
+            final var stdLibLoc = stdLibFolder.getLocation();
+            if (!stdLibFolder.exists() || stdLibLoc == null || !stdLibLoc.toFile().toPath().equals(sdk.getStandardLibDir())) {
+               stdLibFolder.createLink(sdk.getStandardLibDir().toUri(), IResource.REPLACE, m);
+               linksAdded.increment();
+            }
+            if (!stdLibFolder.isDerived()) {
+               stdLibFolder.setDerived(true, m);
+            }
 
-         // if no build file exists remove the dependencies folder
-         if (buildFile == null) {
-            if (depsFolder.exists() && depsFolder.isVirtual()) {
-               depsFolder.delete(true, monitor);
+            /*
+             * create/update "Dart Dependencies" top-level virtual folder
+             */
+            // if no build file exists remove the dependencies folder
+            if (buildFile == null) {
+               if (depsFolder.exists()) {
+                  depsFolder.delete(true, m);
+                  linksRemoved.add(foldersToDelete.size());
+               }
+               linkedDepsByProject.remove(project);
+               return;
             }
-            return Status.OK_STATUS;
-         }
 
-         if (depsFolder.exists()) {
-            if (!depsFolder.isVirtual())
-               return Dart4EPlugin.status().createError("Cannot update 'Dart Dependencies' list. Physical folder with name '"
-                     + DEPS_MAGIC_FOLDER_NAME + "' exists!");
-         } else {
-            depsFolder.create(IResource.VIRTUAL, true, monitor);
-         }
-         if (!depsFolder.isDerived()) {
-            depsFolder.setDerived(true, monitor);
-         }
+            if (!depsFolder.exists()) {
+               depsFolder.create(IResource.VIRTUAL, true, m);
+            }
+            if (!depsFolder.isDerived()) {
+               depsFolder.setDerived(true, m);
+            }
 
-         final var depsToCheck = buildFile //
-            .getDependencies(monitor).stream() //
-            .collect(Collectors.toMap(d -> d.name //
-                  + ("0.0.0".equals(d.version) ? "" : " [" + d.version + "]") //
-                  + (d.isDevDependency ? " (dev)" : ""), //
-               Function.identity()));
+            for (final var folder : foldersToDelete) {
+               folder.delete(true, m);
+               linksRemoved.increment();
+            }
 
-         for (final IResource folder : depsFolder.members()) {
-            if (depsToCheck.containsKey(folder.getName())) {
-               final DartDependency dep = asNonNullUnsafe(depsToCheck.get(folder.getName()));
-               final IPath rawLoc = folder.getRawLocation();
-               if (rawLoc != null && dep.location.equals(rawLoc.toFile().toPath())) {
-                  depsToCheck.remove(folder.getName());
-               } else {
-                  folder.delete(true, monitor); // delete broken folder link
-               }
-            } else {
-               folder.delete(true, monitor); // delete folder link to (now) unused dependency
+            for (final var dep : depsToLink.entrySet()) {
+               final var folder = depsFolder.getFolder(dep.getKey());
+               folder.createLink(dep.getValue().location.toUri(), IResource.REPLACE | IResource.BACKGROUND_REFRESH, m);
+               linksAdded.increment();
             }
-         }
+            linkedDepsByProject.put(project, Set.copyOf(deps));
+         }, project, IWorkspace.AVOID_UPDATE, monitor);
 
-         for (final var dep : depsToCheck.entrySet()) {
-            final var folder = depsFolder.getFolder(dep.getKey());
-            folder.createLink(dep.getValue().location.toUri(), IResource.BACKGROUND_REFRESH, monitor);
-         }
+         DartResourcesDecorator.refreshModel(project);
+
+         Dart4EPlugin.log().debug("Updated 'Dart Dependencies' list of project [{0}]: {1} link(s) added, {2} link(s) removed in {3} ms", //
+            project.getName(), linksAdded.intValue(), linksRemoved.intValue(), System.currentTimeMillis() - startedAt);
          return Status.OK_STATUS;
       } catch (final Exception ex) {
+         linkedDepsByProject.remove(project); // enforce full reconciliation on next update
          return Dart4EPlugin.status().createError(ex, "Failed to update 'Dart Dependencies' list.");
       }
    }
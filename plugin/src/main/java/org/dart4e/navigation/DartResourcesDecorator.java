@@ -8,14 +8,26 @@
 
 import static net.sf.jstuff.core.validation.NullAnalysisHelper.asNonNullUnsafe;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.dart4e.Constants;
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.model.buildsystem.BuildFile;
 import org.dart4e.prefs.DartProjectPreference;
 import org.dart4e.project.DartProjectNature;
 import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.viewers.BaseLabelProvider;
 import org.eclipse.jface.viewers.ILabelDecorator;
@@ -25,15 +37,128 @@
 import de.sebthom.eclipse.commons.ui.UI;
 
 /**
+ * Decorates the resources of Dart projects.
+ * <p>
+ * All information that requires disk access or external processes (source folders, dependency count, SDK version) is precomputed
+ * per project in a background job, so decorating labels on the UI thread only reads from memory. Labels are only refreshed if the
+ * precomputed information changed.
+ *
  * @author Sebastian Thomschke
  */
 public class DartResourcesDecorator extends BaseLabelProvider implements ILabelDecorator {
 
+   /**
+    * Precomputed decoration relevant information of a Dart project.
+    */
+   private record ProjectModel(Set<IPath> sourcePaths, int dependencyCount, @Nullable String sdkVersion) {
+   }
+
+   private static final Map<IProject, ProjectModel> MODELS = new ConcurrentHashMap<>();
+   private static final Map<IProject, Job> MODEL_JOBS = new ConcurrentHashMap<>();
+
+   private static volatile @Nullable DartResourcesDecorator activeInstance;
+
    public static DartResourcesDecorator getInstance() {
       return (DartResourcesDecorator) asNonNullUnsafe(UI.getWorkbench().getDecoratorManager() //
          .getLabelDecorator(DartResourcesDecorator.class.getName()));
    }
 
+   private static ProjectModel computeModel(final IProject project) {
+      final var buildFile = BuildFile.of(project);
+      final Set<IPath> sourcePaths = buildFile == null ? Set.of() : buildFile.getSourcePaths();
+
+      int depCount = 0;
+      final var depsFolder = project.getFolder(DartDependenciesUpdater.DEPS_MAGIC_FOLDER_NAME);
+      if (depsFolder.exists()) {
+         try {
+            depCount = depsFolder.members().length;
+         } catch (final CoreException ex) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+
+      final var dartSDK = DartProjectPreference.get(project).getEffectiveDartSDK();
+      return new ProjectModel(sourcePaths, depCount, dartSDK == null ? null : dartSDK.getVersion());
+   }
+
+   /**
+    * @return null if the model is not computed yet, in which case its computation is triggered
+    */
+   private static @Nullable ProjectModel getModel(final IProject project) {
+      final var model = MODELS.get(project);
+      if (model == null) {
+         refreshModel(project);
+      }
+      return model;
+   }
+
+   /**
+    * Recomputes the decoration model of the given project in the background and refreshes the affected labels once done.
+    */
+   public static void refreshModel(final IProject project) {
+      // scheduling a running job re-runs it once finished, so requests made during a computation are not lost
+      MODEL_JOBS.computeIfAbsent(project, DartResourcesDecorator::createModelJob).schedule();
+   }
+
+   private static Job createModelJob(final IProject project) {
+      final var job = new Job("Computing decorations of project '" + project.getName() + "'...") {
+         @Override
+         protected IStatus run(final IProgressMonitor monitor) {
+            if (!project.isOpen()) {
+               MODELS.remove(project);
+               MODEL_JOBS.remove(project, this);
+               return Status.OK_STATUS;
+            }
+
+            final var elementsToRefresh = new ArrayList<IResource>();
+            try {
+               final var model = computeModel(project);
+               final var oldModel = MODELS.put(project, model);
+               if (model.equals(oldModel))
+                  return Status.OK_STATUS;
+
+               elementsToRefresh.add(project.getFolder(DartDependenciesUpdater.STDLIB_MAGIC_FOLDER_NAME));
+               elementsToRefresh.add(project.getFolder(DartDependenciesUpdater.DEPS_MAGIC_FOLDER_NAME));
+
+               // only folder icons depend on the source paths, so files are not refreshed
+               if (oldModel == null || !oldModel.sourcePaths.equals(model.sourcePaths)) {
+                  final var sourcePaths = new HashSet<>(model.sourcePaths);
+                  if (oldModel != null) {
+                     sourcePaths.addAll(oldModel.sourcePaths);
+                  }
+                  for (final var sourcePath : sourcePaths) {
+                     final var sourceFolder = project.getFolder(sourcePath);
+                     if (sourceFolder.exists()) {
+                        sourceFolder.accept((final IResource res) -> {
+                           if (res instanceof IFolder) {
+                              elementsToRefresh.add(res);
+                              return true;
+                           }
+                           return false;
+                        }, IResource.DEPTH_INFINITE, IResource.NONE);
+                     }
+                  }
+               }
+            } catch (final Exception ex) {
+               Dart4EPlugin.log().error(ex);
+            }
+
+            final var decorator = activeInstance;
+            if (decorator != null) {
+               decorator.refreshElements(elementsToRefresh.toArray(IResource[]::new));
+            }
+            return Status.OK_STATUS;
+         }
+      };
+      job.setSystem(true);
+      job.setPriority(Job.DECORATE);
+      return job;
+   }
+
+   public DartResourcesDecorator() {
+      activeInstance = this;
+   }
+
    @Override
    public @Nullable Image decorateImage(final @Nullable Image image, final @Nullable Object element) {
       if (element == null)
@@ -59,22 +184,16 @@ public static DartResourcesDecorator getInstance() {
       }
 
       if (res instanceof final IFolder folder) {
-         final var buildFile = BuildFile.of(project);
-         if (buildFile == null)
+         final var model = getModel(project);
+         if (model == null)
             return image;
 
-         final var folderPath = asNonNullUnsafe(folder.getLocation());
-         final var projectPath = asNonNullUnsafe(project.getLocation());
-         try {
-            for (final var sourcePath : buildFile.getSourcePaths()) {
-               final var sourceFolder = projectPath.append(sourcePath);
-               if (folderPath.equals(sourceFolder))
-                  return Dart4EPlugin.get().getSharedImage(Constants.IMAGE_DART_SOURCE_FOLDER);
-               if (sourceFolder.isPrefixOf(folderPath))
-                  return Dart4EPlugin.get().getSharedImage(Constants.IMAGE_DART_SOURCE_PACKAGE);
-            }
-         } catch (final Exception ex) {
-            Dart4EPlugin.log().error(ex);
+         final var folderPath = folder.getProjectRelativePath();
+         for (final var sourcePath : model.sourcePaths) {
+            if (folderPath.equals(sourcePath))
+               return Dart4EPlugin.get().getSharedImage(Constants.IMAGE_DART_SOURCE_FOLDER);
+            if (sourcePath.isPrefixOf(folderPath))
+               return Dart4EPlugin.get().getSharedImage(Constants.IMAGE_DART_SOURCE_PACKAGE);
          }
       }
 
@@ -90,20 +209,16 @@ public static DartResourcesDecorator getInstance() {
             if (folder.isLinked() //
                   && folder.getName().equals(DartDependenciesUpdater.STDLIB_MAGIC_FOLDER_NAME) //
             ) {
-               final var prefs = DartProjectPreference.get(asNonNullUnsafe(project));
-               final var dartSDK = prefs.getEffectiveDartSDK();
-               return "Dart Standard Library" + (dartSDK == null ? "" : " [" + dartSDK.getVersion() + "]");
+               final var model = getModel(asNonNullUnsafe(project));
+               final var sdkVersion = model == null ? null : model.sdkVersion;
+               return "Dart Standard Library" + (sdkVersion == null ? "" : " [" + sdkVersion + "]");
             }
 
             if (folder.isVirtual() //
                   && folder.getName().equals(DartDependenciesUpdater.DEPS_MAGIC_FOLDER_NAME) //
             ) {
-               int depCount = 0;
-               try {
-                  depCount = folder.members().length;
-               } catch (final CoreException ex) {
-                  Dart4EPlugin.log().error(ex);
-               }
+               final var model = getModel(asNonNullUnsafe(project));
+               final var depCount = model == null ? 0 : model.dependencyCount;
                return "Dart Dependencies" + (depCount == 0 ? "" : " (" + depCount + ")");
             }
          }
@@ -111,6 +226,14 @@ public static DartResourcesDecorator getInstance() {
       return text;
    }
 
+   @Override
+   public void dispose() {
+      if (activeInstance == this) {
+         activeInstance = null;
+      }
+      super.dispose();
+   }
+
    public void refreshElements(final IResource... res) {
       if (res.length == 0)
          return;
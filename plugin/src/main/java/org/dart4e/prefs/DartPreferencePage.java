@@ -10,7 +10,9 @@
 
 import org.dart4e.localization.Messages;
 import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.DirectoryFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Scale;
@@ -39,17 +41,50 @@ public void init(final IWorkbench workbench) {
    protected void createFieldEditors() {
       final var parent = getFieldEditorParent();
 
+      addField(new GroupFieldEditor("Dart Language Server", parent, group -> List.of( //
+         new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_WARM_STANDBY,
+            "Pre-start language server in the background after startup (faster first connection, uses more memory)", group) //
+      )));
+
+      addField(new GroupFieldEditor("Dart Language Server - Performance (requires restart of the language server)", parent, group -> {
+         final var oldGenHeapSize = new IntegerFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE,
+            "Max. old generation heap size in MB (0 = VM default)", group, 6);
+         oldGenHeapSize.setValidRange(0, 1_048_576);
+         final var cacheDir = new DirectoryFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_CACHE_DIR, "Analysis cache directory",
+            group);
+         cacheDir.setEmptyStringAllowed(true);
+         return List.of( //
+            oldGenHeapSize, //
+            cacheDir, //
+            new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_USE_AOT_SNAPSHOT,
+               "Use AOT compiled analysis server if available", group), //
+            new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_ONLY_ANALYZE_PROJECTS_WITH_OPEN_FILES,
+               "Only analyze projects with open files", group), //
+            new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_CLOSING_LABELS, "Compute closing labels", group), //
+            new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_COMPLETION, "Disable code completion", group), //
+            new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_SEARCH, "Disable search", group) //
+         );
+      }));
+
       addField(new GroupFieldEditor("Dart Language Server - Troubleshooting", parent, group -> List.of( //
          new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_TRACE_INITOPTS, "Log Init Options", group), //
          new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_TRACE_IO, "Log Language Server Protocol communication", group), //
          new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_TRACE_IO_VERBOSE,
-            "Log Language Server Protocol communication (verbose)", group) //
+            "Log Language Server Protocol communication (verbose)", group), //
+         new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_TRACE_STATS,
+            "Record Language Server Protocol latency statistics (see view Dart > JSON-RPC Statistics)", group), //
+         new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_LSP_TRACE_RECORD_SESSION,
+            "Record Language Server Protocol sessions for replay", group) //
       )));
 
       addField(new GroupFieldEditor("Dart Debug Adapter - Troubleshooting", parent, group -> List.of( //
          new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_DAP_TRACE_IO, "Log Debug Adatper Protocol communication", group), //
          new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_DAP_TRACE_IO_VERBOSE, "Log Debug Adatper Protocol communication (verbose)",
-            group) //
+            group), //
+         new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_DAP_TRACE_STATS,
+            "Record Debug Adapter Protocol latency statistics (see view Dart > JSON-RPC Statistics)", group), //
+         new BooleanFieldEditor(DartWorkspacePreference.PREFKEY_DAP_TRACE_LOGS,
+            "Capture Debug Adapter logs of new debug sessions (see view Dart > Debug Adapter Log)", group) //
       )));
 
       addField(new GroupFieldEditor("Dart Formatter Settings", parent, group -> List.of( //
@@ -64,5 +99,12 @@ protected Scale createScale(final Composite parent) {
                return scale;
             }
          })));
+
+      addField(new GroupFieldEditor("Dart Dependencies", parent, group -> {
+         final var maxConcurrency = new IntegerFieldEditor(DartWorkspacePreference.PREFKEY_DEPS_UPDATE_MAX_CONCURRENCY,
+            "Max. number of projects updated in parallel", group, 2);
+         maxConcurrency.setValidRange(1, 32);
+         return List.of(maxConcurrency);
+      }));
    }
 }
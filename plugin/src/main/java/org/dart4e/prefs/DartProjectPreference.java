@@ -16,6 +16,7 @@
 import org.dart4e.Dart4EPlugin;
 import org.dart4e.flutter.prefs.FlutterProjectPreference;
 import org.dart4e.flutter.project.FlutterProjectNature;
+import org.dart4e.langserver.DartClientConfigurationCache;
 import org.dart4e.localization.Messages;
 import org.dart4e.model.DartSDK;
 import org.dart4e.navigation.DartDependenciesUpdater;
@@ -103,6 +104,30 @@ public int getFormatterMaxLineLength() {
       return maxLineLength > 0 ? maxLineLength : DartWorkspacePreference.getFormatterMaxLineLength();
    }
 
+   /**
+    * @return the project specific language server settings falling back to the workspace settings for values not configured
+    */
+   public LangServerSettings getLangServerSettings() {
+      final var defaults = DartWorkspacePreference.getLangServerSettings();
+      return new LangServerSettings( //
+         prefs.contains(DartWorkspacePreference.PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE) //
+               ? Math.max(0, prefs.getInt(DartWorkspacePreference.PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE))
+               : defaults.oldGenHeapSizeMB(), //
+         prefs.contains(DartWorkspacePreference.PREFKEY_LSP_SERVER_CACHE_DIR) //
+               ? prefs.getString(DartWorkspacePreference.PREFKEY_LSP_SERVER_CACHE_DIR).trim()
+               : defaults.cacheDir(), //
+         getBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_COMPLETION, defaults.disableCompletion()), //
+         getBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_SEARCH, defaults.disableSearch()), //
+         getBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_USE_AOT_SNAPSHOT, defaults.useAOTSnapshot()), //
+         getBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_ONLY_ANALYZE_PROJECTS_WITH_OPEN_FILES, defaults
+            .onlyAnalyzeProjectsWithOpenFiles()), //
+         getBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_CLOSING_LABELS, defaults.closingLabels()));
+   }
+
+   private boolean getBoolean(final String key, final boolean defaultValue) {
+      return prefs.contains(key) ? prefs.getBoolean(key) : defaultValue;
+   }
+
    public IProject getProject() {
       return project;
    }
@@ -141,6 +166,7 @@ public boolean save() {
          prefs.save();
 
          DartDependenciesUpdater.INSTANCE.onProjectConfigChanged(project);
+         DartClientConfigurationCache.INSTANCE.invalidate(project);
 
          return true;
       } catch (final IOException ex) {
@@ -153,6 +179,38 @@ public void setAlternateDartSDK(final @Nullable DartSDK sdk) {
       prefs.setValue(PROPERTY_ALTERNATE_DART_SDK, sdk == null ? "" : sdk.getName());
    }
 
+   /**
+    * Only values differing from the workspace settings are stored in the project preferences.
+    */
+   public void setLangServerSettings(final LangServerSettings settings) {
+      final var defaults = DartWorkspacePreference.getLangServerSettings();
+      if (settings.oldGenHeapSizeMB() == defaults.oldGenHeapSizeMB()) {
+         prefs.setToDefault(DartWorkspacePreference.PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE);
+      } else {
+         prefs.setValue(DartWorkspacePreference.PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE, settings.oldGenHeapSizeMB());
+      }
+      if (settings.cacheDir().equals(defaults.cacheDir())) {
+         prefs.setToDefault(DartWorkspacePreference.PREFKEY_LSP_SERVER_CACHE_DIR);
+      } else {
+         prefs.setValue(DartWorkspacePreference.PREFKEY_LSP_SERVER_CACHE_DIR, settings.cacheDir());
+      }
+      setBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_COMPLETION, settings.disableCompletion(), defaults
+         .disableCompletion());
+      setBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_DISABLE_SEARCH, settings.disableSearch(), defaults.disableSearch());
+      setBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_USE_AOT_SNAPSHOT, settings.useAOTSnapshot(), defaults.useAOTSnapshot());
+      setBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_ONLY_ANALYZE_PROJECTS_WITH_OPEN_FILES, settings
+         .onlyAnalyzeProjectsWithOpenFiles(), defaults.onlyAnalyzeProjectsWithOpenFiles());
+      setBoolean(DartWorkspacePreference.PREFKEY_LSP_SERVER_CLOSING_LABELS, settings.closingLabels(), defaults.closingLabels());
+   }
+
+   private void setBoolean(final String key, final boolean value, final boolean defaultValue) {
+      if (value == defaultValue) {
+         prefs.setToDefault(key);
+      } else {
+         prefs.setValue(key, value);
+      }
+   }
+
    public void setFormatterMaxLineLength(final int maxLineLength) {
       if (DartWorkspacePreference.getFormatterMaxLineLength() == maxLineLength) {
          prefs.setToDefault(PROPERTY_FORMATTER_MAX_LINE_LENGTH);
@@ -15,6 +15,7 @@
 import java.nio.file.Paths;
 
 import org.dart4e.model.DartSDK;
+import org.dart4e.model.DartSDKRegistry;
 import org.dart4e.util.ui.GridDatas;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.dialogs.IDialogConstants;
@@ -164,7 +165,7 @@ protected void onBrowseForSDKButton() {
       @Nullable
       String dir = txtSDKPath.getText();
       if (Strings.isBlank(dir)) {
-         final var sdkFromPath = DartSDK.fromPath();
+         final var sdkFromPath = DartSDKRegistry.INSTANCE.getDiscoveredSDKNow();
          if (sdkFromPath != null) {
             dir = sdkFromPath.getInstallRoot().toString();
          }
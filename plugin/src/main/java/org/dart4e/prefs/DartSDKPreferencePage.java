@@ -11,9 +11,11 @@
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
 import org.dart4e.localization.Messages;
 import org.dart4e.model.DartSDK;
+import org.dart4e.model.DartSDKRegistry;
 import org.dart4e.util.ui.GridDatas;
 import org.dart4e.util.ui.StyledLabelProviderAdapter;
 import org.eclipse.jdt.annotation.Nullable;
@@ -40,6 +42,7 @@
 import de.sebthom.eclipse.commons.ui.Buttons;
 import de.sebthom.eclipse.commons.ui.Fonts;
 import de.sebthom.eclipse.commons.ui.Tables;
+import de.sebthom.eclipse.commons.ui.UI;
 import net.sf.jstuff.core.collection.ObservableSet;
 import net.sf.jstuff.core.ref.MutableObservableRef;
 
@@ -50,6 +53,7 @@ public class DartSDKPreferencePage extends PreferencePage implements IWorkbenchP
 
    private CheckboxTableViewer sdkTable = lateNonNull();
    private final ObservableSet<DartSDK> sdks = new ObservableSet<>(new HashSet<>());
+   private final Set<DartSDK> sdksAwaitingValidation = new HashSet<>();
    private final MutableObservableRef<@Nullable DartSDK> defaultSDK = MutableObservableRef.ofNullable(null);
 
    public DartSDKPreferencePage() {
@@ -123,7 +127,8 @@ public StyledString getStyledText(final @Nullable Object element) {
       colVer.setLabelProvider(new ColumnLabelProvider() {
          @Override
          public @Nullable String getText(final @Nullable Object element) {
-            if (element instanceof final DartSDK sdk)
+            // only query the version once validation finished in the background
+            if (element instanceof final DartSDK sdk && Boolean.TRUE.equals(getValidationResult(sdk)))
                return sdk.getVersion();
             return null;
          }
@@ -147,8 +152,10 @@ public StyledString getStyledText(final @Nullable Object element) {
       colValid.setLabelProvider(new ColumnLabelProvider() {
          @Override
          public @Nullable String getText(final @Nullable Object element) {
-            if (element instanceof final DartSDK sdk)
-               return sdk.isValid() ? "yes" : "no";
+            if (element instanceof final DartSDK sdk) {
+               final var isValid = getValidationResult(sdk);
+               return isValid == null ? "..." : isValid ? "yes" : "no";
+            }
             return null;
          }
       });
@@ -195,9 +202,28 @@ public StyledString getStyledText(final @Nullable Object element) {
    public void init(final IWorkbench workbench) {
       setPreferenceStore(DartWorkspacePreference.STORE);
       sdks.addAll(DartWorkspacePreference.getDartSDKs());
+      // SDKs may have been installed, updated or deleted since they were last validated
+      sdks.forEach(this::revalidate);
       defaultSDK.set(DartWorkspacePreference.getDefaultDartSDK(false, false));
    }
 
+   /**
+    * @return null if the SDK is still being validated, in which case the table is refreshed once the result is available
+    */
+   private @Nullable Boolean getValidationResult(final DartSDK sdk) {
+      final var validation = DartSDKRegistry.INSTANCE.validate(sdk);
+      final var isValid = validation.getNow(null);
+      if (isValid == null && sdksAwaitingValidation.add(sdk)) {
+         validation.thenRun(() -> UI.runAsync(() -> {
+            sdksAwaitingValidation.remove(sdk);
+            if (!sdkTable.getTable().isDisposed()) {
+               refreshTable();
+            }
+         }));
+      }
+      return isValid;
+   }
+
    private boolean isDefaultDartSDK(final DartSDK sdk) {
       return Objects.equals(sdk, defaultSDK.get());
    }
@@ -205,10 +231,12 @@ private boolean isDefaultDartSDK(final DartSDK sdk) {
    private void onButton_Add() {
       final var dialog = new DartSDKEditDialog(getShell());
       if (dialog.open() == Window.OK) {
-         sdks.add(new DartSDK( //
+         final var sdk = new DartSDK( //
             asNonNullUnsafe(dialog.sdkName.get()), //
             asNonNullUnsafe(dialog.sdkPath.get()) //
-         ));
+         );
+         revalidate(sdk);
+         sdks.add(sdk);
       }
    }
 
@@ -216,17 +244,21 @@ private void onButton_Edit() {
       if (((StructuredSelection) sdkTable.getSelection()).getFirstElement() instanceof final DartSDK sdk) {
          final var dialog = new DartSDKEditDialog(getShell(), sdk);
          if (dialog.open() == Window.OK) {
+            revalidate(sdk);
             sdks.remove(sdk);
-            sdks.add(new DartSDK( //
+            final var editedSDK = new DartSDK( //
                asNonNullUnsafe(dialog.sdkName.get()), //
                asNonNullUnsafe(dialog.sdkPath.get()) //
-            ));
+            );
+            revalidate(editedSDK);
+            sdks.add(editedSDK);
          }
       }
    }
 
    private void onButton_Remove() {
       if (((StructuredSelection) sdkTable.getSelection()).getFirstElement() instanceof final DartSDK sdk) {
+         revalidate(sdk);
          sdks.remove(sdk);
          sdkTable.refresh();
       }
@@ -257,4 +289,12 @@ private void refreshTable() {
       sdkTable.refresh();
       Tables.autoResizeColumns(sdkTable);
    }
+
+   /**
+    * Evicts the cached validation result of the given SDK, so it is validated again when it is displayed next.
+    */
+   private void revalidate(final DartSDK sdk) {
+      DartSDKRegistry.INSTANCE.invalidate(sdk);
+      sdksAwaitingValidation.remove(sdk);
+   }
 }
@@ -38,6 +38,8 @@ public static final class Initializer extends AbstractPreferenceInitializer {
 
       @Override
       public void initializeDefaultPreferences() {
+         STORE.setDefault(PREFKEY_DEPS_UPDATE_MAX_CONCURRENCY, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)));
+
          STORE.setDefault(PREFKEY_FORMATTER_MAX_LINE_LENGTH, 80);
 
          STORE.setDefault(PREFKEY_INLAY_HINTS_ENABLED, true);
@@ -55,12 +57,28 @@ public void initializeDefaultPreferences() {
 
    static final String PREFKEY_WARNED_NO_SDK_REGISTERED = "dart.warned_no_sdk_registered";
 
+   static final String PREFKEY_DEPS_UPDATE_MAX_CONCURRENCY = "dart.deps.update.max_concurrency";
+
    static final String PREFKEY_DAP_TRACE_IO = "dart.dap.trace.io";
    static final String PREFKEY_DAP_TRACE_IO_VERBOSE = "dart.dap.trace.io.verbose";
+   static final String PREFKEY_DAP_TRACE_STATS = "dart.dap.trace.stats";
+   static final String PREFKEY_DAP_TRACE_LOGS = "dart.dap.trace.logs";
+
+   static final String PREFKEY_LSP_WARM_STANDBY = "dart.lsp.warm_standby";
+
+   static final String PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE = "dart.lsp.server.old_gen_heap_size";
+   static final String PREFKEY_LSP_SERVER_CACHE_DIR = "dart.lsp.server.cache_dir";
+   static final String PREFKEY_LSP_SERVER_DISABLE_COMPLETION = "dart.lsp.server.disable_feature.completion";
+   static final String PREFKEY_LSP_SERVER_DISABLE_SEARCH = "dart.lsp.server.disable_feature.search";
+   static final String PREFKEY_LSP_SERVER_USE_AOT_SNAPSHOT = "dart.lsp.server.use_aot_snapshot";
+   static final String PREFKEY_LSP_SERVER_ONLY_ANALYZE_PROJECTS_WITH_OPEN_FILES = "dart.lsp.server.only_analyze_projects_with_open_files";
+   static final String PREFKEY_LSP_SERVER_CLOSING_LABELS = "dart.lsp.server.closing_labels";
 
    static final String PREFKEY_LSP_TRACE_INITOPTS = "dart.lsp.trace.init_options";
    static final String PREFKEY_LSP_TRACE_IO = "dart.lsp.trace.io";
    static final String PREFKEY_LSP_TRACE_IO_VERBOSE = "dart.lsp.trace.io.verbose";
+   static final String PREFKEY_LSP_TRACE_RECORD_SESSION = "dart.lsp.trace.record_session";
+   static final String PREFKEY_LSP_TRACE_STATS = "dart.lsp.trace.stats";
 
    public static final String PREFKEY_LSP_CLIENT_PREFIX = "dart.lsp.client.";
    static final String PREFKEY_FORMATTER_MAX_LINE_LENGTH = PREFKEY_LSP_CLIENT_PREFIX + "formatter.max_line_length";
@@ -188,6 +206,13 @@ public static SortedSet<DartSDK> getDartSDKs() {
       return DartSDK.fromPath();
    }
 
+   /**
+    * @return the maximum number of projects whose 'Dart Dependencies' lists are updated in parallel
+    */
+   public static int getDependenciesUpdateMaxConcurrency() {
+      return Math.max(1, STORE.getInt(PREFKEY_DEPS_UPDATE_MAX_CONCURRENCY));
+   }
+
    public static int getFormatterMaxLineLength() {
       return STORE.getInt(PREFKEY_FORMATTER_MAX_LINE_LENGTH);
    }
@@ -199,6 +224,17 @@ public static String getInlayHintsParameterNamesMode() {
       return "all";
    }
 
+   public static LangServerSettings getLangServerSettings() {
+      return new LangServerSettings( //
+         Math.max(0, STORE.getInt(PREFKEY_LSP_SERVER_OLD_GEN_HEAP_SIZE)), //
+         STORE.getString(PREFKEY_LSP_SERVER_CACHE_DIR).trim(), //
+         STORE.getBoolean(PREFKEY_LSP_SERVER_DISABLE_COMPLETION), //
+         STORE.getBoolean(PREFKEY_LSP_SERVER_DISABLE_SEARCH), //
+         STORE.getBoolean(PREFKEY_LSP_SERVER_USE_AOT_SNAPSHOT), //
+         STORE.getBoolean(PREFKEY_LSP_SERVER_ONLY_ANALYZE_PROJECTS_WITH_OPEN_FILES), //
+         STORE.getBoolean(PREFKEY_LSP_SERVER_CLOSING_LABELS));
+   }
+
    public static boolean isDAPTraceIO() {
       if (STORE.contains(PREFKEY_DAP_TRACE_IO))
          return STORE.getBoolean(PREFKEY_DAP_TRACE_IO);
@@ -211,6 +247,22 @@ public static boolean isDAPTraceIOVerbose() {
       return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/dap/io/verbose");
    }
 
+   /**
+    * @return true if the debug adapters shall be launched with <code>sendLogsToClient</code>, i.e. send <code>dart.log</code> events
+    *         to be shown in the Debug Adapter Log view
+    */
+   public static boolean isDAPTraceLogs() {
+      if (STORE.contains(PREFKEY_DAP_TRACE_LOGS))
+         return STORE.getBoolean(PREFKEY_DAP_TRACE_LOGS);
+      return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/dap/logs");
+   }
+
+   public static boolean isDAPTraceStatistics() {
+      if (STORE.contains(PREFKEY_DAP_TRACE_STATS))
+         return STORE.getBoolean(PREFKEY_DAP_TRACE_STATS);
+      return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/dap/stats");
+   }
+
    public static boolean isInlayHintsDotShorthandTypesEnabled() {
       if (STORE.contains(PREFKEY_INLAY_HINTS_DOT_SHORTHAND_TYPES_ENABLED))
          return STORE.getBoolean(PREFKEY_INLAY_HINTS_DOT_SHORTHAND_TYPES_ENABLED);
@@ -265,6 +317,25 @@ public static boolean isLSPTraceIOVerbose() {
       return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/lsp/io/verbose");
    }
 
+   public static boolean isLSPTraceRecordSession() {
+      if (STORE.contains(PREFKEY_LSP_TRACE_RECORD_SESSION))
+         return STORE.getBoolean(PREFKEY_LSP_TRACE_RECORD_SESSION);
+      return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/lsp/record_session");
+   }
+
+   public static boolean isLSPTraceStatistics() {
+      if (STORE.contains(PREFKEY_LSP_TRACE_STATS))
+         return STORE.getBoolean(PREFKEY_LSP_TRACE_STATS);
+      return Platform.getDebugBoolean(Dart4EPlugin.PLUGIN_ID + "/trace/lsp/stats");
+   }
+
+   /**
+    * @return true if one Dart Language Server process per SDK in use shall be pre-started after workbench startup
+    */
+   public static boolean isLSPWarmStandbyEnabled() {
+      return STORE.getBoolean(PREFKEY_LSP_WARM_STANDBY);
+   }
+
    public static boolean save() {
       try {
          STORE.save();
@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.prefs;
+
+/**
+ * Dart analysis server process flags and initialization options. Changes only take effect after the language server is restarted.
+ *
+ * @param oldGenHeapSizeMB maximum size of the Dart VM's old generation heap in MB, <code>0</code> to use the VM's default
+ * @param cacheDir directory used by the analysis server to cache analysis results, empty to use the default location
+ * @param disableCompletion disables code completion, e.g. if another completion engine is used
+ * @param disableSearch disables search related requests such as find references
+ * @param useAOTSnapshot use the AOT compiled analysis server if the SDK ships with one (faster startup, no JIT warmup)
+ * @param onlyAnalyzeProjectsWithOpenFiles only analyze workspace folders/projects with files opened in an editor
+ * @param closingLabels have the analysis server compute closing labels
+ *
+ * @author Sebastian Thomschke
+ */
+public record LangServerSettings( //
+      int oldGenHeapSizeMB, //
+      String cacheDir, //
+      boolean disableCompletion, //
+      boolean disableSearch, //
+      boolean useAOTSnapshot, //
+      boolean onlyAnalyzeProjectsWithOpenFiles, //
+      boolean closingLabels) {
+}
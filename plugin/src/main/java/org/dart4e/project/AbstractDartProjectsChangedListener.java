@@ -0,0 +1,32 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.project;
+
+import java.util.List;
+
+/**
+ * Receives the per-project change summaries computed by {@link DartResourceDeltaDispatcher}.
+ *
+ * @author Sebastian Thomschke
+ */
+public abstract class AbstractDartProjectsChangedListener {
+
+   public void install() {
+      DartResourceDeltaDispatcher.INSTANCE.subscribe(this);
+   }
+
+   /**
+    * Invoked synchronously in the thread firing the resource change event.
+    *
+    * @param deltas the changed Dart projects, never empty
+    */
+   public abstract void onDartProjectsChanged(List<DartProjectDelta> deltas);
+
+   public void uninstall() {
+      DartResourceDeltaDispatcher.INSTANCE.unsubscribe(this);
+   }
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.project;
+
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+/**
+ * Summary of the changes to a single Dart project contained in one resource delta, see {@link DartResourceDeltaDispatcher}.
+ *
+ * @param isOpened true if the project was just opened, in which case no file changes are reported
+ * @param isPubspecChanged true if the content of <code>pubspec.yaml</code> or <code>pubspec.lock</code> changed
+ * @param changedDartFiles the <code>.dart</code> files whose content changed
+ *
+ * @author Sebastian Thomschke
+ */
+public record DartProjectDelta(IProject project, boolean isOpened, boolean isPubspecChanged, Set<IFile> changedDartFiles) {
+}
@@ -14,6 +14,7 @@
 import org.dart4e.util.ui.GridDatas;
 import org.dart4e.widget.DartSDKSelectionGroup;
 import org.dart4e.widget.FormatterSettingsGroup;
+import org.dart4e.widget.LangServerSettingsGroup;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
@@ -56,6 +57,14 @@ protected Control createContents(final Composite parent) {
       formatterSettings.defaultMaxLineLength.set(DartWorkspacePreference.getFormatterMaxLineLength());
       formatterSettings.maxLineLength.set(prefs.getFormatterMaxLineLength());
       formatterSettings.maxLineLength.subscribe(newValue -> prefs.setFormatterMaxLineLength(newValue));
+
+      /*
+       * language server
+       */
+      final var langServerSettings = new LangServerSettingsGroup(container);
+      langServerSettings.defaultSettings.set(DartWorkspacePreference.getLangServerSettings());
+      langServerSettings.settings.set(prefs.getLangServerSettings());
+      langServerSettings.settings.subscribe(prefs::setLangServerSettings);
       return container;
    }
 
@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.dart4e.Constants;
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.util.AbstractResourcesChangedListener;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Walks each resource delta once, summarizes the changes per Dart project and fans the summaries out to all subscribed
+ * {@link AbstractDartProjectsChangedListener}s, so the listeners do not need to walk the delta tree and check the project nature
+ * of every visited resource themselves.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DartResourceDeltaDispatcher extends AbstractResourcesChangedListener {
+
+   public static final DartResourceDeltaDispatcher INSTANCE = new DartResourceDeltaDispatcher();
+
+   private final List<AbstractDartProjectsChangedListener> subscribers = new CopyOnWriteArrayList<>();
+
+   private DartResourceDeltaDispatcher() {
+   }
+
+   @Override
+   public void resourceChanged(final IResourceChangeEvent event) {
+      if (event.getType() != IResourceChangeEvent.POST_CHANGE || subscribers.isEmpty())
+         return;
+
+      final var rootDelta = event.getDelta();
+      if (rootDelta == null)
+         return;
+
+      final var deltas = new ArrayList<DartProjectDelta>();
+      for (final var projectDelta : rootDelta.getAffectedChildren()) {
+         if (projectDelta.getResource() instanceof final IProject project && DartProjectNature.hasNature(project)) {
+            final var delta = summarize(project, projectDelta);
+            if (delta != null) {
+               deltas.add(delta);
+            }
+         }
+      }
+      if (deltas.isEmpty())
+         return;
+
+      final var unmodifiableDeltas = List.copyOf(deltas);
+      for (final var subscriber : subscribers) {
+         try {
+            subscriber.onDartProjectsChanged(unmodifiableDeltas);
+         } catch (final RuntimeException ex) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+   }
+
+   public void subscribe(final AbstractDartProjectsChangedListener subscriber) {
+      subscribers.addIfAbsent(subscriber);
+   }
+
+   /**
+    * @return null if the delta contains no changes relevant to subscribers
+    */
+   private @Nullable DartProjectDelta summarize(final IProject project, final IResourceDelta projectDelta) {
+      if ((projectDelta.getFlags() & IResourceDelta.OPEN) != 0)
+         return new DartProjectDelta(project, true, false, Set.of());
+
+      final var changedDartFiles = new LinkedHashSet<IFile>();
+      final var isPubspecChanged = new MutableBoolean();
+      try {
+         projectDelta.accept(delta -> {
+            if ((delta.getFlags() & IResourceDelta.CONTENT) == 0)
+               return true; // check children
+
+            switch (delta.getKind()) {
+               case IResourceDelta.ADDED, IResourceDelta.CHANGED, IResourceDelta.REMOVED:
+                  break;
+               default:
+                  return true; // check children
+            }
+
+            if (!(delta.getResource() instanceof final IFile file))
+               return true; // check children
+
+            final var fileName = file.getName();
+            switch (fileName) {
+               case Constants.PUBSPEC_YAML_FILENAME, Constants.PUBSPEC_LOCK_FILENAME -> isPubspecChanged.setTrue();
+               default -> {
+                  if (fileName.endsWith(".dart")) {
+                     changedDartFiles.add(file);
+                  }
+               }
+            }
+            return false; // no need to check children
+         });
+      } catch (final CoreException ex) {
+         Dart4EPlugin.log().error(ex);
+      }
+
+      if (isPubspecChanged.isFalse() && changedDartFiles.isEmpty())
+         return null;
+      return new DartProjectDelta(project, false, isPubspecChanged.booleanValue(), Collections.unmodifiableSet(changedDartFiles));
+   }
+
+   public void unsubscribe(final AbstractDartProjectsChangedListener subscriber) {
+      subscribers.remove(subscriber);
+   }
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates daemon threads named <code>&lt;namePrefix&gt;-&lt;counter&gt;</code>, so background work never prevents the JVM from
+ * exiting and can be attributed in thread dumps.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+   /**
+    * @return a thread pool with up to <code>maxThreads</code> daemon threads that are terminated after being idle for 30 seconds, the
+    *         caller is responsible for shutting it down
+    */
+   public static ThreadPoolExecutor newThreadPool(final String namePrefix, final int maxThreads) {
+      final var executor = new ThreadPoolExecutor(maxThreads, maxThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+         new DaemonThreadFactory(namePrefix));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+   }
+
+   private final String namePrefix;
+   private final AtomicInteger threadCounter = new AtomicInteger();
+
+   public DaemonThreadFactory(final String namePrefix) {
+      this.namePrefix = namePrefix;
+   }
+
+   @Override
+   public Thread newThread(final Runnable runnable) {
+      final var thread = new Thread(runnable, namePrefix + "-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+   }
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram with logarithmic buckets (8 per power of two, i.e. a relative error below 10%) covering latencies from 1µs to
+ * about 4.5 minutes. Not thread-safe.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class LatencyHistogram {
+
+   private static final int SUB_BUCKETS = 8;
+   private static final int OCTAVES = 28;
+
+   private static int bucketIndex(final long micros) {
+      if (micros <= 1)
+         return 0;
+      final int index = (int) Math.ceil(Math.log(micros) / Math.log(2) * SUB_BUCKETS);
+      return Math.min(index, SUB_BUCKETS * OCTAVES);
+   }
+
+   private static double bucketUpperBoundMicros(final int index) {
+      return Math.pow(2, (double) index / SUB_BUCKETS);
+   }
+
+   private final long[] counts = new long[SUB_BUCKETS * OCTAVES + 1];
+   private long count;
+   private long maxMicros;
+   private long totalMicros;
+
+   public long getCount() {
+      return count;
+   }
+
+   public double getMaxMillis() {
+      return maxMicros / 1_000.0;
+   }
+
+   public double getMeanMillis() {
+      return count == 0 ? 0 : totalMicros / 1_000.0 / count;
+   }
+
+   /**
+    * @param percentile e.g. 0.95
+    * @return the upper bound of the bucket containing the given percentile, 0 if no values were recorded
+    */
+   public double getPercentileMillis(final double percentile) {
+      if (count == 0)
+         return 0;
+
+      final long threshold = Math.max(1, (long) Math.ceil(count * percentile));
+      long cumulative = 0;
+      for (int i = 0; i < counts.length; i++) {
+         cumulative += counts[i];
+         if (cumulative >= threshold)
+            return Math.min(bucketUpperBoundMicros(i), maxMicros) / 1_000.0;
+      }
+      return getMaxMillis();
+   }
+
+   public void record(final long nanos) {
+      final long micros = Math.max(0, nanos / 1_000);
+      counts[bucketIndex(micros)]++;
+      count++;
+      totalMicros += micros;
+      if (micros > maxMicros) {
+         maxMicros = micros;
+      }
+   }
+
+   public void reset() {
+      Arrays.fill(counts, 0);
+      count = 0;
+      maxMicros = 0;
+      totalMicros = 0;
+   }
+}
@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded, lock-free multi-producer/multi-consumer ring buffer based on per-slot sequence numbers.
+ * <p>
+ * {@link #offer(Object)} never blocks, if the buffer is full the element is dropped and counted, which makes this suitable for handing
+ * over diagnostic data from latency sensitive threads (e.g. transport reader threads) to background consumers.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class RingBuffer<T> {
+
+   private final int mask;
+   private final AtomicReferenceArray<@Nullable T> elements;
+   private final AtomicLongArray sequences;
+   private final AtomicLong head = new AtomicLong();
+   private final AtomicLong tail = new AtomicLong();
+   private final AtomicLong dropped = new AtomicLong();
+
+   /**
+    * @param capacity will be rounded up to the next power of two
+    */
+   public RingBuffer(final int capacity) {
+      if (capacity < 2 || capacity > 1 << 30)
+         throw new IllegalArgumentException("[capacity] must be between 2 and 2^30 but was " + capacity);
+      final int size = Integer.highestOneBit(capacity - 1) << 1;
+      mask = size - 1;
+      elements = new AtomicReferenceArray<>(size);
+      sequences = new AtomicLongArray(size);
+      for (int i = 0; i < size; i++) {
+         sequences.set(i, i);
+      }
+   }
+
+   public int capacity() {
+      return mask + 1;
+   }
+
+   /**
+    * Removes up to <code>maxElements</code> elements and passes them to the given consumer.
+    *
+    * @return the number of drained elements
+    */
+   public int drain(final Consumer<T> consumer, final int maxElements) {
+      int count = 0;
+      while (count < maxElements) {
+         final var element = poll();
+         if (element == null) {
+            break;
+         }
+         consumer.accept(element);
+         count++;
+      }
+      return count;
+   }
+
+   /**
+    * @return number of elements rejected by {@link #offer(Object)} because the buffer was full
+    */
+   public long getDroppedCount() {
+      return dropped.get();
+   }
+
+   public boolean isEmpty() {
+      return head.get() == tail.get();
+   }
+
+   /**
+    * @return false if the buffer is full and the element was dropped
+    */
+   public boolean offer(final T element) {
+      long pos = tail.get();
+      while (true) {
+         final int index = (int) pos & mask;
+         final long diff = sequences.get(index) - pos;
+         if (diff == 0) {
+            if (tail.compareAndSet(pos, pos + 1)) {
+               elements.set(index, element);
+               sequences.set(index, pos + 1);
+               return true;
+            }
+            pos = tail.get();
+         } else if (diff < 0) {
+            dropped.incrementAndGet();
+            return false;
+         } else {
+            pos = tail.get();
+         }
+      }
+   }
+
+   /**
+    * @return null if the buffer is empty
+    */
+   public @Nullable T poll() {
+      long pos = head.get();
+      while (true) {
+         final int index = (int) pos & mask;
+         final long diff = sequences.get(index) - (pos + 1);
+         if (diff == 0) {
+            if (head.compareAndSet(pos, pos + 1)) {
+               final var element = elements.get(index);
+               elements.set(index, null);
+               sequences.set(index, pos + mask + 1);
+               return element;
+            }
+            pos = head.get();
+         } else if (diff < 0)
+            return null;
+         else {
+            pos = head.get();
+         }
+      }
+   }
+
+   /**
+    * @return approximate number of buffered elements
+    */
+   public int size() {
+      return (int) Math.max(0, Math.min(capacity(), tail.get() - head.get()));
+   }
+}
@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Unbounded in-memory pipe. Unlike {@link java.io.PipedInputStream} it does not bind the streams to the reading/writing threads,
+ * which would break the pipe once one of the (pooled) writer threads terminates.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class InMemoryPipe {
+   private static final byte[] EOF = new byte[0];
+
+   private final LinkedBlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+   private volatile boolean isClosed;
+
+   public final InputStream in = new InputStream() {
+      private byte[] chunk = new byte[0];
+      private int chunkPos;
+
+      @Override
+      public void close() {
+         InMemoryPipe.this.close();
+      }
+
+      @Override
+      public int read() throws IOException {
+         final byte[] b = new byte[1];
+         return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+         if (len == 0)
+            return 0;
+         if (chunkPos == chunk.length) {
+            try {
+               chunk = chunks.take();
+            } catch (final InterruptedException ex) {
+               Thread.currentThread().interrupt();
+               throw new InterruptedIOException();
+            }
+            chunkPos = 0;
+            if (chunk == EOF) {
+               chunks.add(EOF);
+               return -1;
+            }
+         }
+         final int count = Math.min(len, chunk.length - chunkPos);
+         System.arraycopy(chunk, chunkPos, b, off, count);
+         chunkPos += count;
+         return count;
+      }
+   };
+
+   public final OutputStream out = new OutputStream() {
+      @Override
+      public void close() {
+         InMemoryPipe.this.close();
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) throws IOException {
+         if (isClosed)
+            throw new IOException("Pipe closed");
+         if (len > 0) {
+            chunks.add(Arrays.copyOfRange(b, off, off + len));
+         }
+      }
+
+      @Override
+      public void write(final int b) throws IOException {
+         write(new byte[] {(byte) b}, 0, 1);
+      }
+   };
+
+   public void close() {
+      if (!isClosed) {
+         isClosed = true;
+         chunks.add(EOF);
+      }
+   }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Envelope of a JSON-RPC (LSP) or DAP message.
+ *
+ * @param id the request id, for DAP the <code>seq</code> of requests and the <code>request_seq</code> of responses, null for
+ *           notifications/events
+ * @param method the method of LSP requests/notifications, the command of DAP requests/responses or the event name of DAP events,
+ *           empty for LSP responses
+ *
+ * @author Sebastian Thomschke
+ */
+public record JsonRpcEnvelope(Kind kind, @Nullable String id, String method, boolean isError) {
+
+   public enum Kind {
+      REQUEST,
+      NOTIFICATION,
+      RESPONSE
+   }
+
+   private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+   /**
+    * Extracts the envelope of the given message body by only looking at the top-level attributes.
+    *
+    * @return null if the message could not be parsed
+    */
+   public static @Nullable JsonRpcEnvelope parse(final byte[] body) {
+      @Nullable String id = null;
+      @Nullable String method = null;
+      @Nullable String type = null;
+      @Nullable String seq = null;
+      @Nullable String requestSeq = null;
+      @Nullable String command = null;
+      @Nullable String event = null;
+      boolean hasError = false;
+      boolean isSuccess = true;
+
+      try (var parser = JSON_FACTORY.createParser(body)) {
+         if (parser.nextToken() != JsonToken.START_OBJECT)
+            return null;
+
+         while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.currentName();
+            final var token = parser.nextToken();
+            if (token == null)
+               return null;
+            if (token.isStructStart()) {
+               if ("error".equals(field)) {
+                  hasError = true;
+               }
+               parser.skipChildren();
+               continue;
+            }
+            if (token == JsonToken.VALUE_NULL) {
+               continue;
+            }
+            switch (field) {
+               case "id" -> id = parser.getText();
+               case "method" -> method = parser.getText();
+               case "type" -> type = parser.getText();
+               case "seq" -> seq = parser.getText();
+               case "request_seq" -> requestSeq = parser.getText();
+               case "command" -> command = parser.getText();
+               case "event" -> event = parser.getText();
+               case "success" -> isSuccess = token != JsonToken.VALUE_FALSE;
+               default -> { /* ignore */ }
+            }
+         }
+      } catch (final IOException ex) {
+         return null;
+      }
+
+      if (type != null) { // DAP
+         return switch (type) {
+            case "request" -> command == null ? null : new JsonRpcEnvelope(Kind.REQUEST, seq, command, false);
+            case "response" -> new JsonRpcEnvelope(Kind.RESPONSE, requestSeq, command == null ? "" : command, !isSuccess);
+            case "event" -> event == null ? null : new JsonRpcEnvelope(Kind.NOTIFICATION, null, event, false);
+            default -> null;
+         };
+      }
+
+      if (method != null)
+         return new JsonRpcEnvelope(id == null ? Kind.NOTIFICATION : Kind.REQUEST, id, method, false);
+      if (id != null)
+         return new JsonRpcEnvelope(Kind.RESPONSE, id, "", hasError);
+      return null;
+   }
+}
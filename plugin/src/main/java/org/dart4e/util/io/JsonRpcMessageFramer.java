@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Reassembles the <code>Content-Length</code> framed messages of a JSON-RPC (LSP) or DAP stream from arbitrarily split chunks. Headers
+ * that cannot be parsed, e.g. after chunks were dropped, are skipped until the next valid header section. Not thread-safe.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class JsonRpcMessageFramer {
+
+   private static final byte[] CONTENT_LENGTH_HEADER = "Content-Length: ".getBytes(StandardCharsets.US_ASCII);
+   private static final int MAX_HEADER_LENGTH = 1024;
+
+   static int indexOf(final byte[] bytes, final int from, final int to, final byte[] searchFor) {
+      outer: for (int i = from, last = to - searchFor.length; i <= last; i++) {
+         for (int j = 0; j < searchFor.length; j++) {
+            if (bytes[i + j] != searchFor[j]) {
+               continue outer;
+            }
+         }
+         return i;
+      }
+      return -1;
+   }
+
+   /**
+    * @return -1 if the given bytes are not a valid content length
+    */
+   private static int parseContentLength(final byte[] bytes, final int from, final int to) {
+      if (from == to)
+         return -1;
+      int contentLength = 0;
+      for (int i = from; i < to; i++) {
+         final byte digit = bytes[i];
+         if (digit < '0' || digit > '9' || contentLength > Integer.MAX_VALUE / 10)
+            return -1;
+         contentLength = contentLength * 10 + digit - '0';
+      }
+      return contentLength;
+   }
+
+   private byte[] header = new byte[64];
+   private int headerLength;
+   private int contentLength = -1;
+   private byte @Nullable [] body;
+   private int bodyLength;
+
+   private void appendHeader(final byte b) {
+      if (headerLength == header.length) {
+         if (header.length >= MAX_HEADER_LENGTH) {
+            // not a header line, e.g. after chunks were dropped, only keep the tail to be able to resync on the next header
+            headerLength = 0;
+         } else {
+            header = Arrays.copyOf(header, header.length * 2);
+         }
+      }
+      header[headerLength++] = b;
+   }
+
+   /**
+    * @param onMessage invoked with the body of each message completed by the given bytes
+    */
+   public void feed(final byte[] data, final int off, final int len, final Consumer<byte[]> onMessage) {
+      int pos = off;
+      final int end = off + len;
+      while (pos < end) {
+         final var body = this.body;
+         if (body != null) {
+            final int count = Math.min(body.length - bodyLength, end - pos);
+            System.arraycopy(data, pos, body, bodyLength, count);
+            bodyLength += count;
+            pos += count;
+            if (bodyLength == body.length) {
+               this.body = null;
+               bodyLength = 0;
+               onMessage.accept(body);
+            }
+            continue;
+         }
+
+         final byte b = data[pos++];
+         if (b != '\n') {
+            appendHeader(b);
+            continue;
+         }
+
+         int headerEnd = headerLength;
+         if (headerEnd > 0 && header[headerEnd - 1] == '\r') {
+            headerEnd--;
+         }
+         if (headerEnd == 0) {
+            // end of header section
+            if (contentLength > 0) {
+               this.body = new byte[contentLength];
+            }
+            contentLength = -1;
+         } else {
+            final int headerPos = indexOf(header, 0, headerEnd, CONTENT_LENGTH_HEADER);
+            if (headerPos > -1) {
+               contentLength = parseContentLength(header, headerPos + CONTENT_LENGTH_HEADER.length, headerEnd);
+            }
+         }
+         headerLength = 0;
+      }
+   }
+}
@@ -0,0 +1,286 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dart4e.Dart4EPlugin;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * In-process stand-in for a JSON-RPC server (e.g. the Dart analysis server) that replays a session recorded by
+ * {@link JsonRpcTracer.Session}.
+ * <p>
+ * Each message the client sends is matched with the next not yet replayed recorded client message of the same method (responses to
+ * server requests are matched by id). The server messages that followed the matched message in the recording are then sent with
+ * the recorded delays. The ids of replayed responses are rewritten to the ids of the live requests, so the client does not need to
+ * produce the exact same request ids as during recording. Client requests without a recorded counterpart are answered with a
+ * <code>null</code> result.
+ * <p>
+ * This allows to benchmark the client side (stream wrappers, message handling) deterministically without an SDK installed.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class JsonRpcReplayProcess extends Process {
+
+   private static final String CONTENT_LENGTH_HEADER = "Content-Length:";
+
+   /**
+    * @param timeMillis milliseconds since the first recorded message
+    */
+   private record Entry(double timeMillis, boolean isFromClient, ObjectNode message) {
+   }
+
+   private static List<Entry> loadRecording(final Path recording) throws IOException {
+      final var entries = new ArrayList<Entry>();
+      for (final var line : Files.readAllLines(recording)) {
+         if (line.isBlank()) {
+            continue;
+         }
+         final var node = JSON.deserialize(line, ObjectNode.class);
+         if (node.get("message") instanceof final ObjectNode message) {
+            entries.add(new Entry(node.path("time").asDouble(), "client".equals(node.path("from").asText()), message));
+         }
+      }
+      return entries;
+   }
+
+   /**
+    * @return null if the end of the stream was reached
+    */
+   private static @Nullable ObjectNode readMessage(final InputStream in) throws IOException {
+      int contentLength = -1;
+      final var header = new ByteArrayOutputStream();
+      while (true) {
+         final int b = in.read();
+         if (b < 0)
+            return null;
+         if (b != '\n') {
+            if (b != '\r') {
+               header.write(b);
+            }
+            continue;
+         }
+         if (header.size() == 0) {
+            if (contentLength > -1) {
+               break;
+            }
+            continue;
+         }
+         final var line = header.toString(StandardCharsets.US_ASCII);
+         if (line.regionMatches(true, 0, CONTENT_LENGTH_HEADER, 0, CONTENT_LENGTH_HEADER.length())) {
+            contentLength = Integer.parseInt(line.substring(CONTENT_LENGTH_HEADER.length()).trim());
+         }
+         header.reset();
+      }
+      final byte[] body = in.readNBytes(contentLength);
+      if (body.length < contentLength)
+         return null;
+      return JSON.deserialize(new String(body, StandardCharsets.UTF_8), ObjectNode.class);
+   }
+
+   private final List<Entry> entries;
+
+   /** indexes of the not yet replayed recorded client messages, by method */
+   private final Map<String, Queue<Integer>> clientMessagesByMethod = new HashMap<>();
+
+   /** indexes of the recorded client responses to server requests, by id */
+   private final Map<String, Integer> clientResponsesById = new HashMap<>();
+
+   /** live ids of the client requests, by recorded id */
+   private final Map<String, JsonNode> requestIds = new ConcurrentHashMap<>();
+
+   private final AtomicInteger remainingEntries;
+   private final long startNanos = System.nanoTime();
+   private final CountDownLatch terminated = new CountDownLatch(1);
+
+   private final InMemoryPipe clientToServer = new InMemoryPipe();
+   private final InMemoryPipe serverToClient = new InMemoryPipe();
+   private final ScheduledExecutorService scheduler;
+   private final Thread reader;
+
+   public JsonRpcReplayProcess(final Path recording) throws IOException {
+      entries = loadRecording(recording);
+      remainingEntries = new AtomicInteger(entries.size());
+
+      for (int i = 0; i < entries.size(); i++) {
+         final var entry = entries.get(i);
+         if (!entry.isFromClient) {
+            continue;
+         }
+         final var method = entry.message.get("method");
+         if (method != null) {
+            clientMessagesByMethod.computeIfAbsent(method.asText(), k -> new ArrayDeque<>()).add(i);
+         } else if (entry.message.hasNonNull("id")) {
+            clientResponsesById.put(entry.message.get("id").asText(), i);
+         }
+      }
+
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final var thread = new Thread(runnable, "dart4e-jsonrpc-replay-sender");
+         thread.setDaemon(true);
+         return thread;
+      });
+      reader = new Thread(this::runReader, "dart4e-jsonrpc-replay-reader");
+      reader.setDaemon(true);
+      reader.start();
+
+      // replay server messages recorded before the first client message, e.g. log output
+      scheduleServerMessagesAfter(-1, 0);
+   }
+
+   @Override
+   public void destroy() {
+      if (terminated.getCount() == 0)
+         return;
+      terminated.countDown();
+      scheduler.shutdownNow();
+      reader.interrupt();
+      clientToServer.close();
+      serverToClient.close();
+   }
+
+   @Override
+   public int exitValue() {
+      if (terminated.getCount() > 0)
+         throw new IllegalThreadStateException("Replay is still running");
+      return 0;
+   }
+
+   @Override
+   public InputStream getErrorStream() {
+      return InputStream.nullInputStream();
+   }
+
+   @Override
+   public InputStream getInputStream() {
+      return serverToClient.in;
+   }
+
+   @Override
+   public OutputStream getOutputStream() {
+      return clientToServer.out;
+   }
+
+   private void onClientMessage(final ObjectNode message) {
+      final var id = message.get("id");
+      final var method = message.get("method");
+
+      @Nullable Integer entryIndex;
+      if (method == null) {
+         entryIndex = id == null ? null : clientResponsesById.remove(id.asText());
+      } else {
+         final var candidates = clientMessagesByMethod.get(method.asText());
+         entryIndex = candidates == null ? null : candidates.poll();
+      }
+
+      if (entryIndex == null) {
+         if (method != null && id != null) {
+            final var response = message.objectNode();
+            response.put("jsonrpc", "2.0");
+            response.set("id", id);
+            response.putNull("result");
+            send(response);
+         }
+         return;
+      }
+
+      final var entry = entries.get(entryIndex);
+      final var recordedId = entry.message.get("id");
+      if (method != null && id != null && recordedId != null) {
+         requestIds.put(recordedId.asText(), id);
+      }
+      onEntryReplayed();
+      scheduleServerMessagesAfter(entryIndex, entry.timeMillis);
+   }
+
+   private void onEntryReplayed() {
+      if (remainingEntries.decrementAndGet() == 0) {
+         final var recordedMillis = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).timeMillis;
+         Dart4EPlugin.log().info("Replayed {0} JSON-RPC messages in {1} ms (recorded: {2} ms)", entries.size(), //
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), Math.round(recordedMillis));
+      }
+   }
+
+   private void runReader() {
+      try {
+         ObjectNode message;
+         while ((message = readMessage(clientToServer.in)) != null) {
+            onClientMessage(message);
+         }
+      } catch (final IOException ex) {
+         if (terminated.getCount() > 0) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+      destroy();
+   }
+
+   /**
+    * Schedules all server messages recorded after the given client message and before the next client message.
+    */
+   private void scheduleServerMessagesAfter(final int clientEntryIndex, final double clientEntryTimeMillis) {
+      for (int i = clientEntryIndex + 1; i < entries.size(); i++) {
+         final var entry = entries.get(i);
+         if (entry.isFromClient) {
+            break;
+         }
+         final long delayMicros = Math.max(0, Math.round((entry.timeMillis - clientEntryTimeMillis) * 1_000));
+         scheduler.schedule(() -> {
+            final var message = entry.message.deepCopy();
+            if (!message.has("method") && message.hasNonNull("id")) {
+               final var liveId = requestIds.remove(message.get("id").asText());
+               if (liveId != null) {
+                  message.set("id", liveId);
+               }
+            }
+            send(message);
+            onEntryReplayed();
+         }, delayMicros, TimeUnit.MICROSECONDS);
+      }
+   }
+
+   private synchronized void send(final ObjectNode message) {
+      final byte[] body = JSON.serialize(message).getBytes(StandardCharsets.UTF_8);
+      final var out = serverToClient.out;
+      try {
+         out.write((CONTENT_LENGTH_HEADER + " " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+         out.write(body);
+      } catch (final IOException ex) {
+         if (terminated.getCount() > 0) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+   }
+
+   @Override
+   public int waitFor() throws InterruptedException {
+      terminated.await();
+      return 0;
+   }
+}
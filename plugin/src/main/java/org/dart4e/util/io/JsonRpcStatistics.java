@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.dart4e.util.LatencyHistogram;
+
+/**
+ * Per-method statistics of the JSON-RPC messages recorded by a {@link JsonRpcTracer}.
+ * <p>
+ * Latencies are measured between the moment the request was written to / read from the transport stream and the moment the
+ * corresponding response was read from / written to it. For client requests this is the time spent in the server process and the
+ * pipes, but not the time the client needs to serialize the request or to process the response.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class JsonRpcStatistics {
+
+   public enum Initiator {
+      CLIENT,
+      SERVER
+   }
+
+   public record MethodStatistics( //
+         String method, //
+         Initiator initiator, //
+         long count, //
+         long errors, //
+         long inFlight, //
+         double p50Millis, //
+         double p95Millis, //
+         double p99Millis, //
+         double maxMillis, //
+         double meanMillis, //
+         long avgRequestBytes, //
+         long avgResponseBytes, //
+         long maxMessageBytes) {
+   }
+
+   /**
+    * @param since ISO-8601 timestamp of the last reset
+    * @param taken ISO-8601 timestamp of this snapshot
+    */
+   public record Snapshot( //
+         String protocol, //
+         String since, //
+         String taken, //
+         List<MethodStatistics> methods) {
+   }
+
+   private static final class MethodStats {
+      final LatencyHistogram latencies = new LatencyHistogram();
+      long count;
+      long errors;
+      long inFlight;
+      long requestBytes;
+      long responses;
+      long responseBytes;
+      long maxMessageBytes;
+   }
+
+   private record Key(String method, Initiator initiator) {
+   }
+
+   private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::initiator).thenComparing(Key::method);
+
+   private final String protocol;
+   private final Map<Key, MethodStats> stats = new TreeMap<>(KEY_ORDER);
+   private Instant since = Instant.now();
+
+   JsonRpcStatistics(final String protocol) {
+      this.protocol = protocol;
+   }
+
+   private MethodStats get(final String method, final Initiator initiator) {
+      return stats.computeIfAbsent(new Key(method, initiator), k -> new MethodStats());
+   }
+
+   public String getProtocol() {
+      return protocol;
+   }
+
+   synchronized void onNotification(final String method, final Initiator initiator, final int bytes) {
+      final var s = get(method, initiator);
+      s.count++;
+      s.requestBytes += bytes;
+      s.maxMessageBytes = Math.max(s.maxMessageBytes, bytes);
+   }
+
+   synchronized void onRequest(final String method, final Initiator initiator, final int bytes) {
+      final var s = get(method, initiator);
+      s.count++;
+      s.inFlight++;
+      s.requestBytes += bytes;
+      s.maxMessageBytes = Math.max(s.maxMessageBytes, bytes);
+   }
+
+   /**
+    * Invoked for requests that will never receive a response, e.g. because the connection was closed.
+    */
+   synchronized void onRequestAbandoned(final String method, final Initiator initiator) {
+      final var s = stats.get(new Key(method, initiator));
+      if (s != null && s.inFlight > 0) {
+         s.inFlight--;
+      }
+   }
+
+   synchronized void onResponse(final String method, final Initiator initiator, final long latencyNanos, final int bytes,
+         final boolean isError) {
+      final var s = get(method, initiator);
+      if (s.inFlight > 0) {
+         s.inFlight--;
+      }
+      if (isError) {
+         s.errors++;
+      }
+      s.responses++;
+      s.responseBytes += bytes;
+      s.maxMessageBytes = Math.max(s.maxMessageBytes, bytes);
+      s.latencies.record(latencyNanos);
+   }
+
+   /**
+    * Discards all recorded values. The in-flight counters are kept, since the corresponding responses are still to come.
+    */
+   public synchronized void reset() {
+      for (final var it = stats.values().iterator(); it.hasNext();) {
+         final var s = it.next();
+         if (s.inFlight == 0) {
+            it.remove();
+         } else {
+            s.latencies.reset();
+            s.count = 0;
+            s.errors = 0;
+            s.requestBytes = 0;
+            s.responses = 0;
+            s.responseBytes = 0;
+            s.maxMessageBytes = 0;
+         }
+      }
+      since = Instant.now();
+   }
+
+   public synchronized Snapshot snapshot() {
+      final var methods = new ArrayList<MethodStatistics>(stats.size());
+      stats.forEach((key, s) -> methods.add(new MethodStatistics( //
+         key.method, //
+         key.initiator, //
+         s.count, //
+         s.errors, //
+         s.inFlight, //
+         s.latencies.getPercentileMillis(0.50), //
+         s.latencies.getPercentileMillis(0.95), //
+         s.latencies.getPercentileMillis(0.99), //
+         s.latencies.getMaxMillis(), //
+         s.latencies.getMeanMillis(), //
+         s.count == 0 ? 0 : s.requestBytes / s.count, //
+         s.responses == 0 ? 0 : s.responseBytes / s.responses, //
+         s.maxMessageBytes)));
+      return new Snapshot(protocol, since.toString(), Instant.now().toString(), methods);
+   }
+}
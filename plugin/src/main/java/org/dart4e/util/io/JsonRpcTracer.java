@@ -0,0 +1,632 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.util.Ansi;
+import org.dart4e.util.RingBuffer;
+import org.dart4e.util.io.JsonRpcStatistics.Initiator;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Asynchronous tracer for JSON-RPC based protocols (LSP/DAP).
+ * <p>
+ * Tapped streams only copy the transferred bytes into a lock-free {@link RingBuffer}, so transport threads are never blocked by tracing.
+ * The copies are made into fixed-size buffers taken from a pool the writer thread returns them to after processing, only transfers larger
+ * than {@link #POOLED_BUFFER_SIZE} or made while the pool is exhausted allocate a new array. If the buffer is full, chunks are dropped, the
+ * number of dropped chunks is reported in the trace and the recordings of the affected sessions are stopped. A background writer thread
+ * splits the chunks into lines, filters them on byte level and writes them to <code>System.out</code> and to a rotating log file in the
+ * plugin's state location.
+ * <p>
+ * If recording is enabled for a {@link Session}, the writer thread additionally reassembles the <code>Content-Length</code> framed
+ * messages, correlates requests with their responses and updates the tracer's {@link JsonRpcStatistics}. Transfer timestamps are
+ * taken on the transport threads, so the measured latencies are not affected by the writer thread lagging behind. The reassembled
+ * messages can also be written to a session recording that can be replayed with {@link JsonRpcReplayProcess}.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class JsonRpcTracer {
+
+   public enum Source {
+      CLIENT_OUT(Ansi.BLUE, "CLIENT >> "),
+      SERVER_ERR(Ansi.RED, "SRVERR << "),
+      SERVER_OUT(Ansi.MAGENTA, "SERVER << ");
+
+      final byte[] color;
+      final byte[] label;
+
+      Source(final String color, final String label) {
+         this.color = color.getBytes(StandardCharsets.US_ASCII);
+         this.label = label.getBytes(StandardCharsets.US_ASCII);
+      }
+   }
+
+   /**
+    * A connection to a language server or debug adapter whose tapped streams share the same request id space.
+    */
+   public final class Session {
+      private final boolean trace;
+      private final boolean verbose;
+      private final boolean record;
+      private final @Nullable Path recordingFile;
+
+      /** set by the transport threads if a chunk of this session could not be handed over to the writer thread */
+      private volatile boolean hasDroppedChunks;
+
+      /* only accessed by the writer thread */
+      private final Map<String, PendingRequest> pendingRequests = new HashMap<>();
+      private @Nullable OutputStream recording;
+      private long recordingStartNanos = -1;
+      private boolean isRecordingStopped;
+
+      private Session(final boolean trace, final boolean verbose, final boolean record, final @Nullable Path recordingFile) {
+         this.trace = trace;
+         this.verbose = verbose;
+         this.record = record;
+         this.recordingFile = recordingFile;
+      }
+
+      private void closeRecording() {
+         final var recording = this.recording;
+         if (recording != null) {
+            this.recording = null;
+            openRecordings.remove(this);
+            try {
+               recording.close();
+            } catch (final IOException ex) {
+               Dart4EPlugin.log().error(ex);
+            }
+         }
+      }
+
+      public boolean isEnabled() {
+         return trace || record || recordingFile != null;
+      }
+
+      /**
+       * Appends the given message as a line in the format <code>{"time":&lt;millis&gt;,"from":"client|server","message":{...}}</code>
+       * to the session recording, which can be replayed by {@link JsonRpcReplayProcess}.
+       */
+      private void writeRecording(final Source source, final byte[] body, final long nanos) {
+         final var recordingFile = this.recordingFile;
+         if (recordingFile == null || isRecordingStopped)
+            return;
+
+         if (hasDroppedChunks) {
+            // a replay of the recording would silently miss or garble messages
+            isRecordingStopped = true;
+            closeRecording();
+            Dart4EPlugin.log().info("Stopped session recording [{0}]: messages were dropped because the trace buffer was full.",
+               recordingFile);
+            return;
+         }
+
+         try {
+            var recording = this.recording;
+            if (recording == null) {
+               recordingStartNanos = nanos;
+               final var parent = recordingFile.getParent();
+               if (parent != null) {
+                  Files.createDirectories(parent);
+               }
+               // never overwrite the recording of another session
+               recording = this.recording = new BufferedOutputStream(Files.newOutputStream(recordingFile, StandardOpenOption.CREATE_NEW));
+               openRecordings.add(this);
+            }
+
+            final var prefix = String.format(Locale.ROOT, "{\"time\":%.3f,\"from\":\"%s\",\"message\":", //
+               (nanos - recordingStartNanos) / 1_000_000.0, source == Source.CLIENT_OUT ? "client" : "server");
+            recording.write(prefix.getBytes(StandardCharsets.US_ASCII));
+            for (final byte b : body) {
+               // line breaks can only occur as insignificant whitespace in JSON
+               recording.write(b == '\n' || b == '\r' ? ' ' : b);
+            }
+            recording.write('}');
+            recording.write('\n');
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().error(ex);
+            isRecordingStopped = true;
+            closeRecording();
+         }
+      }
+
+      /**
+       * @return a stream that passes all read bytes to the tracer or the given stream if tracing and recording are disabled
+       */
+      public InputStream tap(final InputStream in, final Source source) {
+         if (!isEnabled())
+            return in;
+
+         final var tap = new Tap(new Channel(this, source));
+         return new FilterInputStream(in) {
+            @Override
+            public void close() throws IOException {
+               super.close();
+               tap.close();
+            }
+
+            @Override
+            public int read() throws IOException {
+               final int b = super.read();
+               if (b > -1) {
+                  tap.add((byte) b);
+               } else {
+                  tap.close();
+               }
+               return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+               final int count = super.read(b, off, len);
+               if (count > 0) {
+                  tap.add(b, off, count);
+               } else if (count < 0) {
+                  tap.close();
+               }
+               return count;
+            }
+         };
+      }
+
+      /**
+       * @return a stream that passes all written bytes to the tracer or the given stream if tracing and recording are disabled
+       */
+      public OutputStream tap(final OutputStream out, final Source source) {
+         if (!isEnabled())
+            return out;
+
+         final var tap = new Tap(new Channel(this, source));
+         return new FilterOutputStream(out) {
+            @Override
+            public void close() throws IOException {
+               super.close();
+               tap.close();
+            }
+
+            @Override
+            public void flush() throws IOException {
+               super.flush();
+               tap.publish();
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+               out.write(b, off, len);
+               tap.add(b, off, len);
+            }
+
+            @Override
+            public void write(final int b) throws IOException {
+               out.write(b);
+               tap.add((byte) b);
+            }
+         };
+      }
+   }
+
+   /**
+    * Hands the bytes transferred through a tapped stream over to the writer thread. Single-byte transfers, e.g. LSP4J reading the
+    * message headers byte by byte, are accumulated and published as one chunk per line, i.e. per header field of the
+    * <code>Content-Length</code> framing, instead of one chunk per byte.
+    * <p>
+    * Only accessed by the thread currently transferring data through the tapped stream.
+    */
+   private final class Tap {
+      final Channel channel;
+      final byte[] pending = new byte[MAX_PENDING_BYTES];
+      int pendingLength;
+      boolean isClosed;
+
+      Tap(final Channel channel) {
+         this.channel = channel;
+      }
+
+      void add(final byte b) {
+         pending[pendingLength++] = b;
+         if (b == '\n' || pendingLength == pending.length) {
+            publish();
+         }
+      }
+
+      void add(final byte[] bytes, final int off, final int len) {
+         publish();
+         trace(channel, bytes, off, len);
+      }
+
+      void close() {
+         if (!isClosed) {
+            isClosed = true;
+            publish();
+            trace(channel, new byte[0], 0, 0);
+         }
+      }
+
+      void publish() {
+         if (pendingLength > 0) {
+            trace(channel, pending, 0, pendingLength);
+            pendingLength = 0;
+         }
+      }
+   }
+
+   /**
+    * Line and message assembly state of a tapped stream, only accessed by the writer thread.
+    */
+   private static final class Channel {
+      final Session session;
+      final Source source;
+      final JsonRpcMessageFramer framer = new JsonRpcMessageFramer();
+      byte[] line = new byte[256];
+      int lineLength;
+
+      Channel(final Session session, final Source source) {
+         this.session = session;
+         this.source = source;
+      }
+
+      void append(final byte b) {
+         if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+         }
+         line[lineLength++] = b;
+      }
+   }
+
+   /**
+    * @param data buffer holding the transferred bytes in the range <code>[0, length)</code>, returned to the pool after processing
+    * @param nanos {@link System#nanoTime()} when the chunk was transferred, an empty chunk signals a closed stream
+    */
+   private record Chunk(Channel channel, byte[] data, int length, long nanos) {
+   }
+
+   private record PendingRequest(String method, long nanos) {
+   }
+
+   public static final JsonRpcTracer LSP = new JsonRpcTracer("LSP", "lsp-trace.log");
+   public static final JsonRpcTracer DAP = new JsonRpcTracer("DAP", "dap-trace.log");
+
+   private static final byte[] CONTENT_LENGTH_HEADER = "Content-Length: ".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] CONTENT_TYPE_HEADER = "Content-Type: application/vscode-jsonrpc; charset=utf-8".getBytes(
+      StandardCharsets.US_ASCII);
+   private static final byte[] JSONRPC_VERSION_ATTR = "\"jsonrpc\":\"2.0\",".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] ANSI_RESET = Ansi.RESET.getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+   private static final int BUFFER_CAPACITY = 8 * 1024;
+   private static final long MAX_LOG_FILE_SIZE = 10 * 1024 * 1024;
+   private static final int MAX_LOG_FILE_BACKUPS = 3;
+   private static final int MAX_PENDING_BYTES = 256;
+   private static final int POOLED_BUFFER_SIZE = 8 * 1024;
+   private static final int POOLED_BUFFER_COUNT = 256;
+
+   private static boolean isBlank(final byte[] bytes, final int from, final int to) {
+      for (int i = from; i < to; i++) {
+         if (!Character.isWhitespace(bytes[i]))
+            return false;
+      }
+      return true;
+   }
+
+   private final JsonRpcStatistics statistics;
+   private final String logFileName;
+   private final RingBuffer<Chunk> buffer = new RingBuffer<>(BUFFER_CAPACITY);
+   /** recycled chunk buffers of {@link #POOLED_BUFFER_SIZE} bytes, filled up lazily so idle tracers retain no memory */
+   private final RingBuffer<byte[]> bufferPool = new RingBuffer<>(POOLED_BUFFER_COUNT);
+   private volatile @Nullable Thread writerThread;
+   private volatile boolean isWriterParked;
+   private volatile boolean isDisposed;
+
+   /* only accessed by the writer thread */
+   private @Nullable RotatingFileOutputStream logFile;
+   private long reportedDroppedCount;
+   private final List<Session> openRecordings = new ArrayList<>();
+
+   private JsonRpcTracer(final String protocol, final String logFileName) {
+      statistics = new JsonRpcStatistics(protocol);
+      this.logFileName = logFileName;
+   }
+
+   private void ensureWriterStarted() {
+      if (writerThread != null)
+         return;
+
+      synchronized (this) {
+         if (writerThread != null || isDisposed)
+            return;
+
+         try {
+            logFile = new RotatingFileOutputStream(Dart4EPlugin.get().getStateLocation().append(logFileName).toFile().toPath(),
+               MAX_LOG_FILE_SIZE, MAX_LOG_FILE_BACKUPS);
+         } catch (final IllegalStateException ex) {
+            // state location not available, only trace to the console
+         }
+
+         final var thread = new Thread(this::runWriter, "dart4e-jsonrpc-tracer-" + logFileName);
+         thread.setDaemon(true);
+         thread.setPriority(Thread.MIN_PRIORITY);
+         thread.start();
+         writerThread = thread;
+      }
+   }
+
+   /**
+    * Stops the writer thread after it processed the pending chunks and closes the log file and all open session recordings.
+    */
+   public void dispose() {
+      final @Nullable Thread writerThread;
+      synchronized (this) {
+         isDisposed = true;
+         writerThread = this.writerThread;
+      }
+      if (writerThread == null)
+         return;
+
+      LockSupport.unpark(writerThread);
+      try {
+         writerThread.join(TimeUnit.SECONDS.toMillis(2));
+      } catch (final InterruptedException ex) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private void closeOutputs() {
+      for (final var session : openRecordings.toArray(Session[]::new)) {
+         session.closeRecording();
+      }
+      final var logFile = this.logFile;
+      if (logFile != null) {
+         this.logFile = null;
+         try {
+            logFile.close();
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().error(ex);
+         }
+      }
+   }
+
+   private void flushOutputs() {
+      System.out.flush();
+      final var logFile = this.logFile;
+      if (logFile != null) {
+         try {
+            logFile.flush();
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().error(ex);
+            this.logFile = null;
+         }
+      }
+      for (final var session : openRecordings.toArray(Session[]::new)) {
+         final var recording = session.recording;
+         if (recording != null) {
+            try {
+               recording.flush();
+            } catch (final IOException ex) {
+               Dart4EPlugin.log().error(ex);
+               session.closeRecording();
+            }
+         }
+      }
+   }
+
+   public JsonRpcStatistics getStatistics() {
+      return statistics;
+   }
+
+   private void onMessage(final Channel channel, final byte[] body, final long nanos) {
+      channel.session.writeRecording(channel.source, body, nanos);
+      if (!channel.session.record)
+         return;
+
+      final var msg = JsonRpcEnvelope.parse(body);
+      if (msg == null)
+         return;
+
+      final var sender = channel.source == Source.CLIENT_OUT ? Initiator.CLIENT : Initiator.SERVER;
+      final var pendingRequests = channel.session.pendingRequests;
+      switch (msg.kind()) {
+         case REQUEST -> {
+            statistics.onRequest(msg.method(), sender, body.length);
+            final var previous = pendingRequests.put(sender + ":" + msg.id(), new PendingRequest(msg.method(), nanos));
+            if (previous != null) {
+               statistics.onRequestAbandoned(previous.method, sender);
+            }
+         }
+         case NOTIFICATION -> statistics.onNotification(msg.method(), sender, body.length);
+         case RESPONSE -> {
+            final var requester = sender == Initiator.CLIENT ? Initiator.SERVER : Initiator.CLIENT;
+            final var request = pendingRequests.remove(requester + ":" + msg.id());
+            if (request != null) {
+               statistics.onResponse(request.method, requester, nanos - request.nanos, body.length, msg.isError());
+            }
+         }
+      }
+   }
+
+   private void onLine(final Channel channel) {
+      final byte[] line = channel.line;
+      int end = channel.lineLength;
+      if (end > 0 && line[end - 1] == '\r') {
+         end--;
+      }
+
+      final boolean verbose = channel.session.verbose;
+      if (!verbose) {
+         if (isBlank(line, 0, end))
+            return;
+         if (end == CONTENT_TYPE_HEADER.length && JsonRpcMessageFramer.indexOf(line, 0, end, CONTENT_TYPE_HEADER) == 0)
+            return;
+         final int headerPos = JsonRpcMessageFramer.indexOf(line, 0, end, CONTENT_LENGTH_HEADER);
+         if (headerPos > -1) {
+            end = headerPos;
+         }
+         if (isBlank(line, 0, end))
+            return;
+      }
+
+      final var source = channel.source;
+      writeToConsole(source.color, 0, source.color.length);
+      writeSegment(source.label, 0, source.label.length);
+      if (verbose) {
+         writeSegment(line, 0, end);
+      } else {
+         // strip the redundant "jsonrpc":"2.0", attribute without creating a copy of the line
+         int pos = 0;
+         while (pos < end) {
+            final int attrPos = JsonRpcMessageFramer.indexOf(line, pos, end, JSONRPC_VERSION_ATTR);
+            if (attrPos < 0) {
+               writeSegment(line, pos, end - pos);
+               break;
+            }
+            writeSegment(line, pos, attrPos - pos);
+            pos = attrPos + JSONRPC_VERSION_ATTR.length;
+         }
+      }
+      writeToConsole(ANSI_RESET, 0, ANSI_RESET.length);
+      writeSegment(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+   }
+
+   private void process(final Chunk chunk) {
+      final var channel = chunk.channel;
+      final var session = channel.session;
+
+      if (chunk.length == 0) {
+         // stream closed, the pending requests of the session will never be answered
+         session.pendingRequests.forEach((key, request) -> statistics.onRequestAbandoned(request.method, key.startsWith(
+            Initiator.CLIENT.name()) ? Initiator.CLIENT : Initiator.SERVER));
+         session.pendingRequests.clear();
+         session.closeRecording();
+         return;
+      }
+
+      if (session.trace) {
+         final byte[] data = chunk.data;
+         for (int i = 0; i < chunk.length; i++) {
+            final byte b = data[i];
+            if (b == '\n') {
+               onLine(channel);
+               channel.lineLength = 0;
+            } else {
+               channel.append(b);
+            }
+         }
+      }
+
+      if ((session.record || session.recordingFile != null) && channel.source != Source.SERVER_ERR) {
+         channel.framer.feed(chunk.data, 0, chunk.length, body -> onMessage(channel, body, chunk.nanos));
+      }
+      recycle(chunk.data);
+   }
+
+   private void recycle(final byte[] data) {
+      if (data.length == POOLED_BUFFER_SIZE) {
+         bufferPool.offer(data);
+      }
+   }
+
+   private void runWriter() {
+      while (true) {
+         if (buffer.drain(this::process, 1024) > 0) {
+            continue;
+         }
+
+         final long droppedCount = buffer.getDroppedCount();
+         if (droppedCount != reportedDroppedCount) {
+            final var msg = ("[" + (droppedCount - reportedDroppedCount) + " trace chunk(s) dropped, trace buffer was full]" + System
+               .lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            writeSegment(msg, 0, msg.length);
+            reportedDroppedCount = droppedCount;
+         }
+         flushOutputs();
+         if (isDisposed) {
+            break;
+         }
+
+         isWriterParked = true;
+         if (buffer.isEmpty()) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+         }
+         isWriterParked = false;
+      }
+      closeOutputs();
+   }
+
+   /**
+    * @param trace if the transferred messages shall be logged
+    * @param verbose if the messages shall be logged unfiltered
+    * @param record if the messages shall be recorded in the {@link #getStatistics() statistics}
+    */
+   public Session newSession(final boolean trace, final boolean verbose, final boolean record) {
+      return new Session(trace || verbose, verbose, record, null);
+   }
+
+   /**
+    * @param recordingFile JSON Lines file the exchanged messages shall be written to, null to disable session recording
+    */
+   public Session newSession(final boolean trace, final boolean verbose, final boolean record, final @Nullable Path recordingFile) {
+      return new Session(trace || verbose, verbose, record, recordingFile);
+   }
+
+   private void trace(final Channel channel, final byte[] bytes, final int off, final int len) {
+      if (isDisposed)
+         return;
+      ensureWriterStarted();
+      final long nanos = System.nanoTime();
+      final var pooled = len > POOLED_BUFFER_SIZE ? null : bufferPool.poll();
+      // buffers allocated while the pool is exhausted are sized for pooling, so the pool fills up to its capacity over time
+      final byte[] data = pooled == null ? new byte[Math.max(len, POOLED_BUFFER_SIZE)] : pooled;
+      System.arraycopy(bytes, off, data, 0, len);
+      if (!buffer.offer(new Chunk(channel, data, len, nanos))) {
+         channel.session.hasDroppedChunks = true;
+         recycle(data);
+      }
+      if (isWriterParked) {
+         final var writerThread = this.writerThread;
+         if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+         }
+      }
+   }
+
+   private void writeSegment(final byte[] bytes, final int off, final int len) {
+      if (len < 1)
+         return;
+      writeToConsole(bytes, off, len);
+      final var logFile = this.logFile;
+      if (logFile != null) {
+         try {
+            logFile.write(bytes, off, len);
+         } catch (final IOException ex) {
+            Dart4EPlugin.log().error(ex);
+            this.logFile = null;
+         }
+      }
+   }
+
+   private void writeToConsole(final byte[] bytes, final int off, final int len) {
+      System.out.write(bytes, off, len);
+   }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.dart4e.Dart4EPlugin;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * JSON file in the plugin's state location, e.g. to persist caches across IDE restarts. The file is written atomically so a crash
+ * during saving never leaves a truncated file behind.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class PersistentJsonFile<T> {
+
+   private final String fileName;
+   private final String description;
+   private final TypeReference<T> type;
+
+   /**
+    * @param description used in log messages, e.g. "Dart dependency cache"
+    */
+   public PersistentJsonFile(final String fileName, final String description, final TypeReference<T> type) {
+      this.fileName = fileName;
+      this.description = description;
+      this.type = type;
+   }
+
+   private @Nullable Path getFile() {
+      try {
+         return Dart4EPlugin.get().getStateLocation().append(fileName).toFile().toPath();
+      } catch (final IllegalStateException ex) {
+         // plugin is shutting down or state location is not available
+         return null;
+      }
+   }
+
+   /**
+    * @return null if the file does not exist or cannot be read
+    */
+   public @Nullable T load() {
+      final var file = getFile();
+      if (file == null || !Files.exists(file))
+         return null;
+
+      try (var in = Files.newInputStream(file)) {
+         return JSON.deserialize(in, type);
+      } catch (final Exception ex) {
+         Dart4EPlugin.log().error(ex, "Failed to load " + description + " " + file);
+         return null;
+      }
+   }
+
+   public void save(final T content) {
+      final var file = getFile();
+      if (file == null)
+         return;
+
+      try {
+         final var tmpFile = file.resolveSibling(fileName + ".tmp");
+         Files.writeString(tmpFile, JSON.serialize(content));
+         Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final Exception ex) {
+         Dart4EPlugin.log().error(ex, "Failed to save " + description + " " + file);
+      }
+   }
+}
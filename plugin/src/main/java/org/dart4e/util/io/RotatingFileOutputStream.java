@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Output stream writing to a file that is rotated once it exceeds a given size, i.e. <code>trace.log</code> is renamed to
+ * <code>trace.1.log</code>, <code>trace.1.log</code> to <code>trace.2.log</code> and so on. Not thread-safe.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class RotatingFileOutputStream extends OutputStream {
+
+   private final Path file;
+   private final long maxFileSize;
+   private final int maxBackups;
+   private @Nullable OutputStream out;
+   private long size;
+
+   /**
+    * @param maxBackups number of rotated files to keep
+    */
+   public RotatingFileOutputStream(final Path file, final long maxFileSize, final int maxBackups) {
+      this.file = file;
+      this.maxFileSize = maxFileSize;
+      this.maxBackups = maxBackups;
+   }
+
+   @Override
+   public void close() throws IOException {
+      final var out = this.out;
+      if (out != null) {
+         this.out = null;
+         out.close();
+      }
+   }
+
+   @Override
+   public void flush() throws IOException {
+      final var out = this.out;
+      if (out != null) {
+         out.flush();
+      }
+   }
+
+   private Path getBackupFile(final int index) {
+      final var fileName = file.getFileName().toString();
+      final int dotPos = fileName.lastIndexOf('.');
+      return file.resolveSibling(dotPos < 1 //
+            ? fileName + "." + index
+            : fileName.substring(0, dotPos) + "." + index + fileName.substring(dotPos));
+   }
+
+   private OutputStream getOutputStream() throws IOException {
+      var out = this.out;
+      if (out == null) {
+         final var parent = file.getParent();
+         if (parent != null) {
+            Files.createDirectories(parent);
+         }
+         size = Files.exists(file) ? Files.size(file) : 0;
+         out = this.out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+            64 * 1024);
+      }
+      return out;
+   }
+
+   public Path getFile() {
+      return file;
+   }
+
+   private void rotate() throws IOException {
+      close();
+      if (maxBackups < 1) {
+         Files.deleteIfExists(file);
+      } else {
+         Files.deleteIfExists(getBackupFile(maxBackups));
+         for (int i = maxBackups - 1; i > 0; i--) {
+            final var backup = getBackupFile(i);
+            if (Files.exists(backup)) {
+               Files.move(backup, getBackupFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+         }
+         if (Files.exists(file)) {
+            Files.move(file, getBackupFile(1), StandardCopyOption.REPLACE_EXISTING);
+         }
+      }
+   }
+
+   @Override
+   public void write(final byte[] b, final int off, final int len) throws IOException {
+      if (size > 0 && size + len > maxFileSize) {
+         rotate();
+      }
+      getOutputStream().write(b, off, len);
+      size += len;
+   }
+
+   @Override
+   public void write(final int b) throws IOException {
+      if (size > 0 && size + 1 > maxFileSize) {
+         rotate();
+      }
+      getOutputStream().write(b);
+      size++;
+   }
+}
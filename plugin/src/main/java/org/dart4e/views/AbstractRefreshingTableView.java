@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.views;
+
+import static net.sf.jstuff.core.validation.NullAnalysisHelper.*;
+
+import java.util.function.Function;
+
+import org.dart4e.util.ui.GridDatas;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * View showing a table with an optional status line that is periodically refreshed while the view is open.
+ * <p>
+ * If {@link #createContentProvider()} returns an {@link ILazyContentProvider}, the table is created with {@link SWT#VIRTUAL}.
+ *
+ * @author Sebastian Thomschke
+ */
+abstract class AbstractRefreshingTableView<R> extends ViewPart {
+
+   private final Class<R> rowType;
+   private final int refreshIntervalMS;
+   private final boolean hasStatusLine;
+
+   private @Nullable Label status;
+   protected TableViewer table = lateNonNull();
+
+   private final Runnable refresher = new Runnable() {
+      @Override
+      public void run() {
+         if (table.getTable().isDisposed())
+            return;
+         refresh();
+         table.getTable().getDisplay().timerExec(refreshIntervalMS, this);
+      }
+   };
+
+   protected AbstractRefreshingTableView(final Class<R> rowType, final int refreshIntervalMS, final boolean hasStatusLine) {
+      this.rowType = rowType;
+      this.refreshIntervalMS = refreshIntervalMS;
+      this.hasStatusLine = hasStatusLine;
+   }
+
+   protected final void addColumn(final String title, final int width, final int alignment, final Function<R, String> valueProvider) {
+      final var col = new TableViewerColumn(table, alignment);
+      col.setLabelProvider(new ColumnLabelProvider() {
+         @Override
+         public String getText(final @Nullable Object element) {
+            return rowType.isInstance(element) ? valueProvider.apply(rowType.cast(element)) : "";
+         }
+      });
+      col.getColumn().setText(title);
+      col.getColumn().setWidth(width);
+   }
+
+   protected abstract void contributeToToolBar(IToolBarManager toolbar);
+
+   protected abstract void createColumns();
+
+   protected IContentProvider createContentProvider() {
+      return ArrayContentProvider.getInstance();
+   }
+
+   @Override
+   public void createPartControl(final Composite parent) {
+      parent.setLayout(GridLayoutFactory.fillDefaults().create());
+
+      if (hasStatusLine) {
+         final var status = this.status = new Label(parent, SWT.NONE);
+         status.setLayoutData(GridDatas.fillHorizontalExcessive());
+      }
+
+      final var contentProvider = createContentProvider();
+      table = new TableViewer(parent, SWT.BORDER | SWT.FULL_SELECTION | SWT.V_SCROLL | SWT.H_SCROLL //
+            | (contentProvider instanceof ILazyContentProvider ? SWT.VIRTUAL : SWT.NONE));
+      table.getTable().setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+      table.getTable().setHeaderVisible(true);
+      table.getTable().setLinesVisible(true);
+      table.setContentProvider(contentProvider);
+
+      createColumns();
+      contributeToToolBar(getViewSite().getActionBars().getToolBarManager());
+
+      refresher.run();
+   }
+
+   /**
+    * Invoked on the UI thread every {@link #refreshIntervalMS} while the view is open.
+    */
+   protected abstract void refresh();
+
+   @Override
+   public void setFocus() {
+      table.getTable().setFocus();
+   }
+
+   protected final void setStatus(final String text) {
+      final var status = this.status;
+      if (status != null) {
+         status.setText(text);
+      }
+   }
+}
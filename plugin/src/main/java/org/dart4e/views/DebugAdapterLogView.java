@@ -0,0 +1,97 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.views;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.dart4e.launch.DebugAdapterLog;
+import org.dart4e.launch.DebugAdapterLog.Entry;
+import org.dart4e.prefs.DartWorkspacePreference;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.swt.SWT;
+
+/**
+ * Shows the <code>dart.log</code> events collected by {@link DebugAdapterLog}.
+ * <p>
+ * The table is virtual, so a refresh only re-populates the visible rows instead of re-creating up to the maximum number of
+ * collected entries.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class DebugAdapterLogView extends AbstractRefreshingTableView<Entry> {
+
+   public static final String ID = "org.dart4e.views.DebugAdapterLogView";
+
+   private static final int REFRESH_INTERVAL_MS = 1_000;
+   private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+   /** snapshot of the displayed entries, only accessed by the UI thread */
+   private List<Entry> entries = List.of();
+   private long displayedVersion = -1;
+
+   public DebugAdapterLogView() {
+      super(Entry.class, REFRESH_INTERVAL_MS, true);
+   }
+
+   @Override
+   protected void contributeToToolBar(final IToolBarManager toolbar) {
+      final var clear = new Action("Clear") {
+         @Override
+         public void run() {
+            DebugAdapterLog.INSTANCE.clear();
+            refresh();
+         }
+      };
+      clear.setToolTipText("Discard all collected log entries");
+      toolbar.add(clear);
+   }
+
+   @Override
+   protected void createColumns() {
+      addColumn("Time", 90, SWT.LEFT, entry -> TIME_FORMAT.format(Instant.ofEpochMilli(entry.timeMillis())));
+      addColumn("Session", 150, SWT.LEFT, Entry::session);
+      addColumn("Message", 800, SWT.LEFT, entry -> entry.message().replace('\n', ' '));
+   }
+
+   @Override
+   protected IContentProvider createContentProvider() {
+      return (ILazyContentProvider) index -> {
+         if (index < entries.size()) {
+            table.replace(entries.get(index), index);
+         }
+      };
+   }
+
+   @Override
+   protected void refresh() {
+      final var counters = DebugAdapterLog.INSTANCE.getCounters();
+      setStatus((DartWorkspacePreference.isDAPTraceLogs() ? "" : "Capturing is disabled in the preferences. ") //
+            + "Received: " + counters.received() //
+            + ", sampled out: " + counters.sampledOut() //
+            + ", dropped: " + counters.dropped());
+
+      // read the version first, so entries added concurrently are picked up by the next refresh
+      final long version = DebugAdapterLog.INSTANCE.getVersion();
+      if (version == displayedVersion)
+         return;
+      displayedVersion = version;
+
+      entries = DebugAdapterLog.INSTANCE.getEntries();
+      table.setItemCount(entries.size());
+      // the history is bounded, thus entries may have shifted, only the visible rows are requested again
+      table.getTable().clearAll();
+      if (!entries.isEmpty()) {
+         table.getTable().setTopIndex(entries.size() - 1);
+      }
+   }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.views;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dart4e.util.io.JSON;
+import org.dart4e.util.io.JsonRpcStatistics;
+import org.dart4e.util.io.JsonRpcStatistics.MethodStatistics;
+import org.dart4e.util.io.JsonRpcTracer;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+
+import de.sebthom.eclipse.commons.ui.Dialogs;
+
+/**
+ * Shows the per-method latency statistics recorded by {@link JsonRpcTracer#LSP} and {@link JsonRpcTracer#DAP}.
+ *
+ * @author Sebastian Thomschke
+ */
+public final class JsonRpcStatisticsView extends AbstractRefreshingTableView<JsonRpcStatisticsView.Row> {
+
+   public static final String ID = "org.dart4e.views.JsonRpcStatisticsView";
+
+   private static final int REFRESH_INTERVAL_MS = 2_000;
+   private static final List<JsonRpcTracer> TRACERS = List.of(JsonRpcTracer.LSP, JsonRpcTracer.DAP);
+
+   record Row(String protocol, MethodStatistics stats) {
+   }
+
+   private static String formatMillis(final double millis) {
+      return String.format("%.1f", millis);
+   }
+
+   public JsonRpcStatisticsView() {
+      super(Row.class, REFRESH_INTERVAL_MS, false);
+   }
+
+   @Override
+   protected void contributeToToolBar(final IToolBarManager toolbar) {
+      final var reset = new Action("Reset") {
+         @Override
+         public void run() {
+            TRACERS.forEach(tracer -> tracer.getStatistics().reset());
+            refresh();
+         }
+      };
+      reset.setToolTipText("Discard all recorded statistics");
+
+      final var export = new Action("Export...") {
+         @Override
+         public void run() {
+            exportAsJSON();
+         }
+      };
+      export.setToolTipText("Export the recorded statistics as JSON");
+
+      toolbar.add(reset);
+      toolbar.add(export);
+   }
+
+   @Override
+   protected void createColumns() {
+      addColumn("Protocol", 60, SWT.LEFT, row -> row.protocol);
+      addColumn("Method", 250, SWT.LEFT, row -> row.stats.method());
+      addColumn("Initiator", 70, SWT.LEFT, row -> row.stats.initiator().name().toLowerCase());
+      addColumn("Count", 60, SWT.RIGHT, row -> Long.toString(row.stats.count()));
+      addColumn("Errors", 60, SWT.RIGHT, row -> Long.toString(row.stats.errors()));
+      addColumn("In-Flight", 60, SWT.RIGHT, row -> Long.toString(row.stats.inFlight()));
+      addColumn("p50 [ms]", 70, SWT.RIGHT, row -> formatMillis(row.stats.p50Millis()));
+      addColumn("p95 [ms]", 70, SWT.RIGHT, row -> formatMillis(row.stats.p95Millis()));
+      addColumn("p99 [ms]", 70, SWT.RIGHT, row -> formatMillis(row.stats.p99Millis()));
+      addColumn("Max [ms]", 70, SWT.RIGHT, row -> formatMillis(row.stats.maxMillis()));
+      addColumn("Avg Request [bytes]", 110, SWT.RIGHT, row -> Long.toString(row.stats.avgRequestBytes()));
+      addColumn("Avg Response [bytes]", 110, SWT.RIGHT, row -> Long.toString(row.stats.avgResponseBytes()));
+      addColumn("Max Message [bytes]", 110, SWT.RIGHT, row -> Long.toString(row.stats.maxMessageBytes()));
+   }
+
+   private void exportAsJSON() {
+      final var dialog = new FileDialog(table.getTable().getShell(), SWT.SAVE);
+      dialog.setFilterExtensions(new String[] {"*.json"});
+      dialog.setFileName("dart4e-jsonrpc-statistics.json");
+      dialog.setOverwrite(true);
+      final var file = dialog.open();
+      if (file == null)
+         return;
+
+      final var snapshots = new ArrayList<JsonRpcStatistics.Snapshot>();
+      TRACERS.forEach(tracer -> snapshots.add(tracer.getStatistics().snapshot()));
+      try {
+         Files.writeString(Path.of(file), JSON.serialize(snapshots));
+      } catch (final IOException ex) {
+         Dialogs.showStatus("Cannot export statistics", Status.error(ex.getMessage(), ex), true);
+      }
+   }
+
+   @Override
+   protected void refresh() {
+      final var rows = new ArrayList<Row>();
+      for (final var tracer : TRACERS) {
+         final var snapshot = tracer.getStatistics().snapshot();
+         snapshot.methods().forEach(stats -> rows.add(new Row(snapshot.protocol(), stats)));
+      }
+      table.setInput(rows);
+   }
+}
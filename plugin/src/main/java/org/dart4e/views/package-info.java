@@ -0,0 +1,12 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ *
+ * @author Sebastian Thomschke
+ */
+@NonNullByDefault
+package org.dart4e.views;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
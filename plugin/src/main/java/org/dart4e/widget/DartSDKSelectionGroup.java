@@ -6,6 +6,8 @@
  */
 package org.dart4e.widget;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.dart4e.localization.Messages;
 import org.dart4e.model.DartSDK;
 import org.dart4e.prefs.DartWorkspacePreference;
@@ -58,9 +60,17 @@ public DartSDKSelectionGroup(final Composite parent, final int style) {
       txtDefaultSdk.setEditable(false);
       txtDefaultSdk.setLayoutData(GridDatas.fillHorizontalExcessive());
 
-      final var defaultSDK = DartWorkspacePreference.getDefaultDartSDK(false, true);
+      final var defaultSDK = DartWorkspacePreference.getDefaultDartSDK(false, false);
       if (defaultSDK != null) {
          txtDefaultSdk.setText(defaultSDK.toShortString());
+      } else {
+         // searching the environment may spawn processes, so do not block the UI thread
+         txtDefaultSdk.setText("Searching...");
+         CompletableFuture.supplyAsync(() -> DartWorkspacePreference.getDefaultDartSDK(false, true)).thenAccept(sdk -> UI.run(() -> {
+            if (!txtDefaultSdk.isDisposed()) {
+               txtDefaultSdk.setText(sdk == null ? "" : sdk.toShortString());
+            }
+         }));
       }
 
       final var radioAltSDK = new Button(grpSdk, SWT.RADIO);
@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.widget;
+
+import org.dart4e.prefs.LangServerSettings;
+import org.dart4e.util.ui.GridDatas;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
+import org.eclipse.swt.widgets.Text;
+
+import de.sebthom.eclipse.commons.ui.Buttons;
+import de.sebthom.eclipse.commons.ui.Spinners;
+import de.sebthom.eclipse.commons.ui.Texts;
+import net.sf.jstuff.core.ref.MutableObservableRef;
+
+/**
+ * @author Sebastian Thomschke
+ */
+public class LangServerSettingsGroup extends Composite {
+
+   private static final LangServerSettings VM_DEFAULTS = new LangServerSettings(0, "", false, false, false, false, false);
+
+   public final MutableObservableRef<LangServerSettings> defaultSettings = MutableObservableRef.of(VM_DEFAULTS);
+   public final MutableObservableRef<LangServerSettings> settings = MutableObservableRef.of(VM_DEFAULTS);
+
+   private final MutableObservableRef<Integer> oldGenHeapSizeMB = MutableObservableRef.of(0);
+   private final MutableObservableRef<String> cacheDir = MutableObservableRef.of("");
+   private final MutableObservableRef<Boolean> disableCompletion = MutableObservableRef.of(false);
+   private final MutableObservableRef<Boolean> disableSearch = MutableObservableRef.of(false);
+   private final MutableObservableRef<Boolean> useAOTSnapshot = MutableObservableRef.of(false);
+   private final MutableObservableRef<Boolean> onlyAnalyzeProjectsWithOpenFiles = MutableObservableRef.of(false);
+   private final MutableObservableRef<Boolean> closingLabels = MutableObservableRef.of(false);
+   private boolean isApplyingSettings;
+
+   public LangServerSettingsGroup(final Composite parent) {
+      this(parent, SWT.NONE);
+   }
+
+   public LangServerSettingsGroup(final Composite parent, final int style) {
+      super(parent, style);
+
+      if (parent.getLayout() instanceof GridLayout) {
+         setLayoutData(GridDatas.fillHorizontalExcessive());
+      }
+      setLayout(GridLayoutFactory.fillDefaults().create());
+
+      final var grpLangServer = new Group(this, SWT.NONE);
+      grpLangServer.setLayoutData(GridDatas.fillHorizontalExcessive());
+      grpLangServer.setLayout(GridLayoutFactory.swtDefaults().numColumns(2).create());
+      grpLangServer.setText("Language Server Settings (requires restart of the language server)");
+
+      final var lblHeapSize = new Label(grpLangServer, SWT.NONE);
+      lblHeapSize.setLayoutData(GridDatas.alignRight());
+      lblHeapSize.setText("Max. old generation heap size in MB (0 = VM default):");
+      final var inputHeapSize = new Spinner(grpLangServer, SWT.BORDER);
+      inputHeapSize.setValues(0, 0, 1_048_576, 0, 256, 1024);
+      inputHeapSize.setLayoutData(GridDatas.fillHorizontalExcessive());
+      Spinners.bind(inputHeapSize, oldGenHeapSizeMB);
+
+      final var lblCacheDir = new Label(grpLangServer, SWT.NONE);
+      lblCacheDir.setLayoutData(GridDatas.alignRight());
+      lblCacheDir.setText("Analysis cache directory:");
+      final var txtCacheDir = new Text(grpLangServer, SWT.BORDER);
+      txtCacheDir.setLayoutData(GridDatas.fillHorizontalExcessive());
+      Texts.bind(txtCacheDir, cacheDir);
+
+      createCheckbox(grpLangServer, "Use AOT compiled analysis server if available", useAOTSnapshot);
+      createCheckbox(grpLangServer, "Only analyze projects with open files", onlyAnalyzeProjectsWithOpenFiles);
+      createCheckbox(grpLangServer, "Compute closing labels", closingLabels);
+      createCheckbox(grpLangServer, "Disable code completion", disableCompletion);
+      createCheckbox(grpLangServer, "Disable search", disableSearch);
+
+      final var btnDefault = new Button(grpLangServer, SWT.NONE);
+      btnDefault.setText("Default");
+      Buttons.onSelected(btnDefault, () -> settings.set(defaultSettings.get()));
+
+      settings.subscribe(newSettings -> {
+         isApplyingSettings = true;
+         oldGenHeapSizeMB.set(newSettings.oldGenHeapSizeMB());
+         cacheDir.set(newSettings.cacheDir());
+         disableCompletion.set(newSettings.disableCompletion());
+         disableSearch.set(newSettings.disableSearch());
+         useAOTSnapshot.set(newSettings.useAOTSnapshot());
+         onlyAnalyzeProjectsWithOpenFiles.set(newSettings.onlyAnalyzeProjectsWithOpenFiles());
+         closingLabels.set(newSettings.closingLabels());
+         isApplyingSettings = false;
+      });
+
+      oldGenHeapSizeMB.subscribe(this::onSettingChanged);
+      cacheDir.subscribe(this::onSettingChanged);
+      disableCompletion.subscribe(this::onSettingChanged);
+      disableSearch.subscribe(this::onSettingChanged);
+      useAOTSnapshot.subscribe(this::onSettingChanged);
+      onlyAnalyzeProjectsWithOpenFiles.subscribe(this::onSettingChanged);
+      closingLabels.subscribe(this::onSettingChanged);
+   }
+
+   private void createCheckbox(final Composite parent, final String label, final MutableObservableRef<Boolean> value) {
+      final var checkbox = new Button(parent, SWT.CHECK);
+      checkbox.setText(label);
+      checkbox.setLayoutData(GridDataFactory.fillDefaults().span(2, 1).create());
+      Buttons.bind(checkbox, value);
+   }
+
+   private void onSettingChanged() {
+      if (isApplyingSettings)
+         return;
+      settings.set(new LangServerSettings( //
+         oldGenHeapSizeMB.get(), //
+         cacheDir.get().trim(), //
+         disableCompletion.get(), //
+         disableSearch.get(), //
+         useAOTSnapshot.get(), //
+         onlyAnalyzeProjectsWithOpenFiles.get(), //
+         closingLabels.get()));
+   }
+}
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.dart4e.model.DartDependency;
+import org.dart4e.model.DartDependencyDiff;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class DartDependencyDiffTest {
+
+   private static DartDependency dep(final String name, final String version) {
+      return new DartDependency(Path.of("/pub-cache/hosted/pub.dev/" + name + "-" + version), name, version, false, false);
+   }
+
+   @Test
+   void testDiff() {
+      final var args = dep("args", "2.4.0");
+      final var path = dep("path", "1.8.3");
+      final var meta = dep("meta", "1.9.1");
+      final var http = dep("http", "1.1.0");
+
+      assertThat(DartDependencyDiff.of(List.of(args, path), List.of(path, args)).isEmpty()).isTrue();
+
+      final var diff = DartDependencyDiff.of(List.of(args, path, meta), List.of(args, dep("path", "1.9.0"), http));
+      assertThat(diff.added).containsExactly(http);
+      assertThat(diff.removed).containsExactly(meta);
+      assertThat(diff.changed).hasSize(1);
+      assertThat(diff.changed.get(0).oldDependency().version).isEqualTo("1.8.3");
+      assertThat(diff.changed.get(0).newDependency().version).isEqualTo("1.9.0");
+   }
+}
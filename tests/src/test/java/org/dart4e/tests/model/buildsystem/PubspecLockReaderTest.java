@@ -0,0 +1,147 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.model.buildsystem;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.dart4e.Dart4EPlugin;
+import org.dart4e.model.buildsystem.PubspecLockReader;
+import org.dart4e.model.buildsystem.PubspecLockReader.LockedPackage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Verifies {@link PubspecLockReader} against the generic SnakeYAML map loading previously used by
+ * {@link org.dart4e.model.buildsystem.DartBuildFile} and optionally compares the performance of both approaches.
+ * <p>
+ * The benchmark is a JUnit adaptation, JMH's annotation processing and forked JVMs do not fit the Tycho/OSGi test runtime. Run it
+ * with <code>-Ddart4e.benchmark=true</code>.
+ *
+ * @author Sebastian Thomschke
+ */
+class PubspecLockReaderTest {
+
+   private static String generateLockFile(final int packageCount) {
+      final var sb = new StringBuilder("# Generated by pub\n# See https://dart.dev/tools/pub/glossary#lockfile\npackages:\n");
+      for (int i = 0; i < packageCount; i++) {
+         final var name = "package_" + i;
+         switch (i % 4) {
+            case 0, 1 -> sb.append("  ").append(name).append(":\n") //
+               .append("    dependency: ").append(i % 8 == 0 ? "\"direct main\"" : "transitive").append('\n') //
+               .append("    description:\n") //
+               .append("      name: ").append(name).append('\n') //
+               .append("      sha256: \"").append("0123456789abcdef".repeat(4)).append("\"\n") //
+               .append("      url: \"https://pub.dev\"\n") //
+               .append("    source: hosted\n") //
+               .append("    version: \"1.").append(i).append(".0\"\n");
+            case 2 -> sb.append("  ").append(name).append(":\n") //
+               .append("    dependency: \"direct dev\"\n") //
+               .append("    description:\n") //
+               .append("      path: \".\"\n") //
+               .append("      ref: main\n") //
+               .append("      resolved-ref: \"").append(Integer.toHexString(i)).append("cafebabe\"\n") //
+               .append("      url: \"https://github.com/example/").append(name).append(".git\"\n") //
+               .append("    source: git\n") //
+               .append("    version: \"2.").append(i).append(".0\"\n");
+            default -> sb.append("  ").append(name).append(":\n") //
+               .append("    dependency: \"direct overridden\"\n") //
+               .append("    description:\n") //
+               .append("      path: \"../").append(name).append("\"\n") //
+               .append("      relative: true\n") //
+               .append("    source: path\n") //
+               .append("    version: \"0.0.").append(i).append("\"\n");
+         }
+      }
+      sb.append("  flutter:\n    dependency: \"direct main\"\n    description: flutter\n    source: sdk\n    version: \"0.0.0\"\n");
+      sb.append("sdks:\n  dart: \">=3.4.0 <4.0.0\"\n  flutter: \">=3.22.0\"\n");
+      return sb.toString();
+   }
+
+   @SuppressWarnings("unchecked")
+   private static List<LockedPackage> readViaMap(final String lockFile) {
+      final var result = new ArrayList<LockedPackage>();
+      final var lockFileYaml = new Yaml().loadAs(new StringReader(lockFile), Map.class);
+      final var packages = (Map<String, Map<String, ?>>) lockFileYaml.get("packages");
+      for (final var entry : packages.entrySet()) {
+         final var meta = entry.getValue();
+         final var descr = meta.get("description");
+         if (descr instanceof final Map<?, ?> descrMap) {
+            result.add(new LockedPackage(entry.getKey(), (String) meta.get("dependency"), (String) meta.get("source"), (String) meta.get(
+               "version"), null, (String) descrMap.get("url"), (String) descrMap.get("path"), Boolean.TRUE.equals(descrMap.get(
+                  "relative")), (String) descrMap.get("resolved-ref")));
+         } else {
+            result.add(new LockedPackage(entry.getKey(), (String) meta.get("dependency"), (String) meta.get("source"), (String) meta.get(
+               "version"), (String) descr, null, null, false, null));
+         }
+      }
+      return result;
+   }
+
+   @Test
+   void testRead() {
+      final var lockFile = generateLockFile(500);
+      final var packages = PubspecLockReader.read(new StringReader(lockFile));
+
+      assertThat(packages).hasSize(501);
+      assertThat(packages).isEqualTo(readViaMap(lockFile));
+
+      final var hosted = packages.get(1);
+      assertThat(hosted.name()).isEqualTo("package_1");
+      assertThat(hosted.source()).isEqualTo("hosted");
+      assertThat(hosted.url()).isEqualTo("https://pub.dev");
+      assertThat(hosted.isTransitiveDependency()).isTrue();
+
+      final var git = packages.get(2);
+      assertThat(git.resolvedRef()).isEqualTo("2cafebabe");
+      assertThat(git.isDevDependency()).isTrue();
+
+      final var path = packages.get(3);
+      assertThat(path.path()).isEqualTo("../package_3");
+      assertThat(path.relative()).isTrue();
+
+      final var sdk = packages.get(500);
+      assertThat(sdk.source()).isEqualTo("sdk");
+      assertThat(sdk.description()).isEqualTo("flutter");
+   }
+
+   @Test
+   @EnabledIfSystemProperty(named = "dart4e.benchmark", matches = "true")
+   void benchmarkRead() {
+      final var lockFile = generateLockFile(500);
+      final int warmups = 50;
+      final int iterations = 200;
+
+      for (int i = 0; i < warmups; i++) {
+         assertThat(readViaMap(lockFile)).isNotEmpty();
+         assertThat(PubspecLockReader.read(new StringReader(lockFile))).isNotEmpty();
+      }
+
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+         assertThat(readViaMap(lockFile)).isNotEmpty();
+      }
+      final long mapMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / iterations;
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+         assertThat(PubspecLockReader.read(new StringReader(lockFile))).isNotEmpty();
+      }
+      final long eventMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / iterations;
+
+      final var result = String.format("pubspec.lock with 500 packages: map loading %d µs/op, event reader %d µs/op", mapMicros,
+         eventMicros);
+      Dart4EPlugin.log().info(result);
+      assertThat(eventMicros).as(result).isLessThanOrEqualTo(mapMicros);
+   }
+}
@@ -0,0 +1,41 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dart4e.util.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class LatencyHistogramTest {
+
+   @Test
+   void testPercentiles() {
+      final var histogram = new LatencyHistogram();
+      assertThat(histogram.getPercentileMillis(0.5)).isZero();
+
+      for (int i = 1; i <= 100; i++) {
+         histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+      }
+      assertThat(histogram.getCount()).isEqualTo(100);
+      assertThat(histogram.getMaxMillis()).isEqualTo(100);
+      assertThat(histogram.getMeanMillis()).isEqualTo(50.5);
+      assertThat(histogram.getPercentileMillis(0.50)).isBetween(50.0, 55.0);
+      assertThat(histogram.getPercentileMillis(0.95)).isBetween(95.0, 100.0);
+      assertThat(histogram.getPercentileMillis(0.99)).isBetween(99.0, 100.0);
+      assertThat(histogram.getPercentileMillis(1.0)).isEqualTo(100);
+
+      histogram.reset();
+      assertThat(histogram.getCount()).isZero();
+      assertThat(histogram.getMaxMillis()).isZero();
+   }
+}
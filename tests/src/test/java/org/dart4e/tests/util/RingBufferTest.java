@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.dart4e.util.RingBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class RingBufferTest {
+
+   @Test
+   void testConcurrentProducers() throws InterruptedException {
+      final var buffer = new RingBuffer<Integer>(1024);
+      final int producerCount = 4;
+      final int elementsPerProducer = 50_000;
+
+      final var received = ConcurrentHashMap.<Integer> newKeySet();
+      final var producersDone = new AtomicBoolean();
+      final var consumer = new Thread(() -> {
+         while (!producersDone.get() || !buffer.isEmpty()) {
+            buffer.drain(received::add, 256);
+         }
+      });
+      consumer.start();
+
+      final var start = new CountDownLatch(1);
+      final var producers = new ArrayList<Thread>();
+      for (int p = 0; p < producerCount; p++) {
+         final int offset = p * elementsPerProducer;
+         final var producer = new Thread(() -> {
+            try {
+               start.await();
+            } catch (final InterruptedException ex) {
+               Thread.currentThread().interrupt();
+               return;
+            }
+            for (int i = 0; i < elementsPerProducer; i++) {
+               while (!buffer.offer(offset + i)) {
+                  Thread.onSpinWait();
+               }
+            }
+         });
+         producer.start();
+         producers.add(producer);
+      }
+      start.countDown();
+      for (final var producer : producers) {
+         producer.join();
+      }
+      producersDone.set(true);
+      consumer.join();
+
+      assertThat(received).hasSize(producerCount * elementsPerProducer);
+      assertThat(buffer.isEmpty()).isTrue();
+   }
+
+   @Test
+   void testOfferPoll() {
+      assertThatIllegalArgumentException().isThrownBy(() -> new RingBuffer<String>(1));
+
+      final var buffer = new RingBuffer<String>(3);
+      assertThat(buffer.capacity()).isEqualTo(4);
+      assertThat(buffer.poll()).isNull();
+
+      for (int i = 0; i < 4; i++) {
+         assertThat(buffer.offer("e" + i)).isTrue();
+      }
+      assertThat(buffer.offer("e4")).isFalse();
+      assertThat(buffer.getDroppedCount()).isEqualTo(1);
+      assertThat(buffer.size()).isEqualTo(4);
+
+      assertThat(buffer.poll()).isEqualTo("e0");
+      assertThat(buffer.offer("e5")).isTrue();
+
+      final var drained = new ArrayList<String>();
+      assertThat(buffer.drain(drained::add, 10)).isEqualTo(4);
+      assertThat(drained).containsExactly("e1", "e2", "e3", "e5");
+      assertThat(buffer.isEmpty()).isTrue();
+   }
+}
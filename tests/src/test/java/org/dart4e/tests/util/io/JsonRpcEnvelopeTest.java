@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.util.io;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.dart4e.util.io.JsonRpcEnvelope;
+import org.dart4e.util.io.JsonRpcEnvelope.Kind;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class JsonRpcEnvelopeTest {
+
+   private static @Nullable JsonRpcEnvelope parse(final String body) {
+      return JsonRpcEnvelope.parse(body.getBytes(StandardCharsets.UTF_8));
+   }
+
+   @Test
+   void testParseDAP() {
+      assertThat(parse("{\"seq\":3,\"type\":\"request\",\"command\":\"threads\",\"arguments\":{\"seq\":99}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.REQUEST, "3", "threads", false));
+      assertThat(parse("{\"seq\":7,\"type\":\"response\",\"request_seq\":3,\"success\":true,\"command\":\"threads\",\"body\":{}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.RESPONSE, "3", "threads", false));
+      assertThat(parse("{\"seq\":8,\"type\":\"response\",\"request_seq\":4,\"success\":false,\"command\":\"evaluate\"}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.RESPONSE, "4", "evaluate", true));
+      assertThat(parse("{\"seq\":9,\"type\":\"event\",\"event\":\"output\",\"body\":{\"event\":\"x\"}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.NOTIFICATION, null, "output", false));
+
+      assertThat(parse("{\"seq\":10,\"type\":\"request\"}")).isNull();
+      assertThat(parse("{\"seq\":11,\"type\":\"unknown\",\"command\":\"threads\"}")).isNull();
+   }
+
+   @Test
+   void testParseLSP() {
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"id\":2,\"method\":\"x\"}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.REQUEST, "1", "initialize", false));
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":\"abc\",\"method\":\"shutdown\"}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.REQUEST, "abc", "shutdown", false));
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"method\":\"initialized\",\"params\":{}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.NOTIFICATION, null, "initialized", false));
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":null,\"method\":\"$/progress\"}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.NOTIFICATION, null, "$/progress", false));
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"capabilities\":{}}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.RESPONSE, "1", "", false));
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":{\"code\":-32601,\"message\":\"not found\"}}")) //
+         .isEqualTo(new JsonRpcEnvelope(Kind.RESPONSE, "1", "", true));
+   }
+
+   @Test
+   void testParseMalformed() {
+      assertThat(parse("")).isNull();
+      assertThat(parse("[]")).isNull();
+      assertThat(parse("not json")).isNull();
+      assertThat(parse("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":")).isNull();
+      assertThat(parse("{\"jsonrpc\":\"2.0\"}")).isNull();
+   }
+}
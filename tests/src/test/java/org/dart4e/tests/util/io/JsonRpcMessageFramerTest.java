@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.util.io;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dart4e.util.io.JsonRpcMessageFramer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class JsonRpcMessageFramerTest {
+
+   private static final String MSG1 = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\"}";
+   private static final String MSG2 = "{\"jsonrpc\":\"2.0\",\"method\":\"initialized\",\"params\":{\"text\":\"äöü\\n\"}}";
+
+   private static String frame(final String body) {
+      return "Content-Length: " + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + body;
+   }
+
+   private static List<String> feed(final JsonRpcMessageFramer framer, final byte[]... chunks) {
+      final var messages = new ArrayList<String>();
+      for (final var chunk : chunks) {
+         framer.feed(chunk, 0, chunk.length, body -> messages.add(new String(body, StandardCharsets.UTF_8)));
+      }
+      return messages;
+   }
+
+   private static byte[] bytes(final String str) {
+      return str.getBytes(StandardCharsets.UTF_8);
+   }
+
+   @Test
+   void testMultipleMessagesPerChunk() {
+      final var framer = new JsonRpcMessageFramer();
+      assertThat(feed(framer, bytes(frame(MSG1) + frame(MSG2)))).containsExactly(MSG1, MSG2);
+   }
+
+   @Test
+   void testAdditionalHeaders() {
+      final var framer = new JsonRpcMessageFramer();
+      final var data = "Content-Type: application/vscode-jsonrpc; charset=utf-8\r\n" + frame(MSG1) //
+            + "Content-Length: " + bytes(MSG2).length + "\nContent-Type: application/vscode-jsonrpc; charset=utf-8\n\n" + MSG2;
+      assertThat(feed(framer, bytes(data))).containsExactly(MSG1, MSG2);
+   }
+
+   @Test
+   void testSplitHeadersAndBodies() {
+      final byte[] data = bytes(frame(MSG1) + frame(MSG2));
+
+      // split the stream at every possible position
+      for (int splitAt = 0; splitAt <= data.length; splitAt++) {
+         final var framer = new JsonRpcMessageFramer();
+         final var messages = new ArrayList<String>();
+         framer.feed(data, 0, splitAt, body -> messages.add(new String(body, StandardCharsets.UTF_8)));
+         framer.feed(data, splitAt, data.length - splitAt, body -> messages.add(new String(body, StandardCharsets.UTF_8)));
+         assertThat(messages).as("split at %d", splitAt).containsExactly(MSG1, MSG2);
+      }
+
+      // feed byte by byte
+      final var framer = new JsonRpcMessageFramer();
+      final var messages = new ArrayList<String>();
+      for (int i = 0; i < data.length; i++) {
+         framer.feed(data, i, 1, body -> messages.add(new String(body, StandardCharsets.UTF_8)));
+      }
+      assertThat(messages).containsExactly(MSG1, MSG2);
+   }
+
+   @Test
+   void testMalformedContentLength() {
+      for (final var malformedHeader : List.of("Content-Length: abc", "Content-Length: ", "Content-Length: -5",
+         "Content-Length: 99999999999999999999")) {
+         final var framer = new JsonRpcMessageFramer();
+         // the message with the malformed header is skipped, the framer resyncs on the header of the next message
+         assertThat(feed(framer, bytes(malformedHeader + "\r\n\r\n" + MSG1 + "\r\n"), bytes(frame(MSG2)))) //
+            .as(malformedHeader) //
+            .containsExactly(MSG2);
+      }
+   }
+
+   @Test
+   void testOverlongGarbage() {
+      final var framer = new JsonRpcMessageFramer();
+      assertThat(feed(framer, bytes("x".repeat(10_000) + "\n"), bytes(frame(MSG1)))).containsExactly(MSG1);
+   }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: © The Dart4E authors
+ * SPDX-FileContributor: Sebastian Thomschke
+ * SPDX-License-Identifier: EPL-2.0
+ * SPDX-ArtifactOfProjectHomePage: https://github.com/dart4e/dart4e
+ */
+package org.dart4e.tests.util.io;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.dart4e.util.io.JsonRpcReplayProcess;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Sebastian Thomschke
+ */
+class JsonRpcReplayProcessTest {
+
+   private static String receive(final InputStream in) throws IOException {
+      int contentLength = -1;
+      final var header = new StringBuilder();
+      while (true) {
+         final int b = in.read();
+         assertThat(b).isNotNegative();
+         if (b != '\n') {
+            header.append((char) b);
+            continue;
+         }
+         final var line = header.toString().trim();
+         header.setLength(0);
+         if (line.isEmpty() && contentLength > -1) {
+            break;
+         }
+         if (line.startsWith("Content-Length:")) {
+            contentLength = Integer.parseInt(line.substring("Content-Length:".length()).trim());
+         }
+      }
+      return new String(in.readNBytes(contentLength), StandardCharsets.UTF_8);
+   }
+
+   private static void send(final OutputStream out, final String message) throws IOException {
+      final byte[] body = message.getBytes(StandardCharsets.UTF_8);
+      out.write(("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+      out.write(body);
+      out.flush();
+   }
+
+   @Test
+   void testReplay(@TempDir final Path tempDir) throws Exception {
+      final var recording = tempDir.resolve("lsp-session.jsonl");
+      Files.writeString(recording, """
+         {"time":0.000,"from":"client","message":{"jsonrpc":"2.0","id":1,"method":"initialize","params":{}}}
+         {"time":20.000,"from":"server","message":{"jsonrpc":"2.0","id":1,"result":{"capabilities":{}}}}
+         {"time":25.000,"from":"server","message":{"jsonrpc":"2.0","method":"textDocument/publishDiagnostics","params":{}}}
+         """);
+
+      final var process = new JsonRpcReplayProcess(recording);
+      assertThat(process.isAlive()).isTrue();
+
+      // request ids differ from the recorded ones
+      final long start = System.nanoTime();
+      send(process.getOutputStream(), "{\"jsonrpc\":\"2.0\",\"id\":\"a\",\"method\":\"initialize\",\"params\":{}}");
+      assertThat(receive(process.getInputStream())).isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":\"a\",\"result\":{\"capabilities\":{}}}");
+      assertThat(receive(process.getInputStream())).isEqualTo(
+         "{\"jsonrpc\":\"2.0\",\"method\":\"textDocument/publishDiagnostics\",\"params\":{}}");
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(20);
+
+      // requests not contained in the recording are answered with a null result
+      send(process.getOutputStream(), "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"shutdown\"}");
+      assertThat(receive(process.getInputStream())).isEqualTo("{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":null}");
+
+      process.getOutputStream().close();
+      assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(process.exitValue()).isZero();
+   }
+}